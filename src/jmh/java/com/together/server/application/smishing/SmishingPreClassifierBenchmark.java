@@ -0,0 +1,70 @@
+package com.together.server.application.smishing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * 스미싱 사전 분류가 LLM 호출 전에 붙어도 부담이 없는지(1ms 미만) 확인합니다.
+ * - classify: 정규화, 키워드, 링크, 발신자 규칙을 모두 거친 전체 분류
+ * - keywordScan: Aho-Corasick으로 사전 전체를 한 번에 찾는 부분만
+ * - keywordContains: 키워드마다 String.contains로 찾는 경우 (비교용)
+ * message는 로컬에서 "높음"으로 답하는 택배 사칭, LLM으로 넘기는 카드 연체 안내, 1KB 남짓의 긴 공지
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class SmishingPreClassifierBenchmark {
+
+    private static final Map<String, String> MESSAGES = Map.of(
+            "smishing", "[국제발신] CJ대한통운 주소불명으로 반송예정. 주소확인 bit.ly/3xYz9",
+            "notice", "[KB국민카드] 홍길동님 4월 결제대금 연체 안내. 고객센터 1588-1688",
+            "long", ("[Web발신] [우체국택배] 고객님께서 주문하신 상품이 오늘 배송 예정입니다. "
+                    + "배송 조회는 https://service.epost.go.kr/trace 에서 하실 수 있으며 부재 시 경비실에 보관됩니다. ").repeat(6)
+    );
+
+    @Param({"smishing", "notice", "long"})
+    public String message;
+
+    private SmishingPreClassifier classifier;
+    private AhoCorasick<SmishingLexicon.Category> keywordMatcher;
+    private String text;
+    private String compact;
+
+    @Setup
+    public void setUp() {
+        classifier = new SmishingPreClassifier(new SmishingPreClassifierProperties(true, 0.85), new SimpleMeterRegistry());
+        keywordMatcher = AhoCorasick.build(SmishingLexicon.KEYWORDS);
+        text = MESSAGES.get(message);
+        compact = text.replaceAll("\\s+", "").toLowerCase();
+    }
+
+    @Benchmark
+    public SmishingVerdict classify() {
+        return classifier.classify(text, List.of());
+    }
+
+    @Benchmark
+    public void keywordScan(Blackhole blackhole) {
+        keywordMatcher.search(compact, blackhole::consume);
+    }
+
+    @Benchmark
+    public void keywordContains(Blackhole blackhole) {
+        for (Map.Entry<String, SmishingLexicon.Category> keyword : SmishingLexicon.KEYWORDS.entrySet()) {
+            if (compact.contains(keyword.getKey())) {
+                blackhole.consume(keyword.getValue());
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.together.server.domain.chat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * 골든 말뭉치(chat/condition-corpus.csv)의 답변을 차례로 로컬 추출기에 넣어 답변 하나당 비용을 잽니다.
+ * LLM으로 넘기는 답변도 섞여 있으므로, 포기하기까지 걸리는 시간도 함께 반영됩니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class KoreanConditionParserBenchmark {
+
+    private static final String CORPUS = "/chat/condition-corpus.csv";
+
+    private String[] replies;
+    private String[] lastQuestions;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<String[]> rows;
+        try (InputStream in = KoreanConditionParserBenchmark.class.getResourceAsStream(CORPUS)) {
+            rows = new String(in.readAllBytes(), StandardCharsets.UTF_8).lines()
+                    .skip(1)
+                    .filter(line -> !line.isBlank())
+                    .map(line -> line.split("\\|", -1))
+                    .toList();
+        }
+        replies = new String[rows.size()];
+        lastQuestions = new String[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            replies[i] = rows.get(i)[0];
+            lastQuestions[i] = rows.get(i)[1].isEmpty() ? null : rows.get(i)[1];
+        }
+    }
+
+    @Benchmark
+    public Optional<Map<String, String>> parse() {
+        int row = next;
+        next = row + 1 == replies.length ? 0 : row + 1;
+        return KoreanConditionParser.parse(replies[row], lastQuestions[row]);
+    }
+}
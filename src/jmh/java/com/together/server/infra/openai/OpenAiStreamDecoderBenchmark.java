@@ -0,0 +1,84 @@
+package com.together.server.infra.openai;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+/**
+ * OpenAI 스트리밍 응답 하나를 끝까지 읽는 비용을 비교합니다.
+ * 응답은 스미싱 분석 답변 한 건의 chat.completion.chunk 기록(openai/smishing-analysis-stream.txt, delta 약 350개)을
+ * 네트워크에서 받듯이 bufferSize 바이트씩 잘라 넣습니다.
+ * - streamingDecoder: OpenAiStreamDecoder (DataBuffer 단위, JsonParser로 content만 읽음)
+ * - treeModel: 줄마다 문자열을 만들고 ObjectMapper.readTree로 JsonNode 트리를 만들던 이전 방식
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class OpenAiStreamDecoderBenchmark {
+
+    private static final String TRANSCRIPT = "/openai/smishing-analysis-stream.txt";
+
+    @Param({"512", "8192"})
+    public int bufferSize;
+
+    private final DefaultDataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private List<byte[]> buffers;
+    private String[] lines;
+
+    @Setup
+    public void setUp() throws IOException {
+        byte[] bytes;
+        try (InputStream in = OpenAiStreamDecoderBenchmark.class.getResourceAsStream(TRANSCRIPT)) {
+            bytes = in.readAllBytes();
+        }
+
+        buffers = new ArrayList<>();
+        for (int from = 0; from < bytes.length; from += bufferSize) {
+            buffers.add(Arrays.copyOfRange(bytes, from, Math.min(bytes.length, from + bufferSize)));
+        }
+        lines = new String(bytes, StandardCharsets.UTF_8).split("\n");
+    }
+
+    @Benchmark
+    public void streamingDecoder(Blackhole blackhole) {
+        OpenAiStreamDecoder decoder = new OpenAiStreamDecoder(jsonFactory);
+        for (byte[] buffer : buffers) {
+            for (String content : decoder.decode(bufferFactory.wrap(buffer))) {
+                blackhole.consume(content);
+            }
+        }
+    }
+
+    @Benchmark
+    public void treeModel(Blackhole blackhole) throws Exception {
+        for (String line : lines) {
+            if (!line.startsWith("data:") || line.contains("[DONE]")) {
+                continue;
+            }
+            JsonNode node = objectMapper.readTree(line.substring(5).trim());
+            String content = node.path("choices").path(0).path("delta").path("content").asText();
+            if (!content.isEmpty()) {
+                blackhole.consume(content);
+            }
+        }
+    }
+}
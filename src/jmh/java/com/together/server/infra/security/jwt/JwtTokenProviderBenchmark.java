@@ -0,0 +1,61 @@
+package com.together.server.infra.security.jwt;
+
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.SecretKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * 같은 access_token으로 들어온 요청에서 사용자 ID를 꺼내는 비용을 비교합니다.
+ * - parserPerCall: 호출마다 JwtParser를 만들던 이전 방식
+ * - sharedParser: 파서를 재사용하지만 서명 검증과 디코딩은 매번 하는 경우 (claims 캐시 미스)
+ * - cachedClaims: JwtTokenProvider의 claims 캐시 적중
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class JwtTokenProviderBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-for-jwt-token-provider-0123456789";
+    private static final long ONE_HOUR = 3_600_000;
+
+    private SecretKey key;
+    private JwtParser sharedParser;
+    private JwtTokenProvider provider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        sharedParser = Jwts.parser().verifyWith(key).build();
+        provider = new JwtTokenProvider(
+                new JwtTokenProperties(SECRET, ONE_HOUR, ONE_HOUR, 10_000), new SimpleMeterRegistry());
+        token = provider.createToken("42");
+        provider.getMemberId(token);
+    }
+
+    @Benchmark
+    public String parserPerCall() {
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload().getSubject();
+    }
+
+    @Benchmark
+    public String sharedParser() {
+        return sharedParser.parseSignedClaims(token).getPayload().getSubject();
+    }
+
+    @Benchmark
+    public String cachedClaims() {
+        return provider.getMemberId(token);
+    }
+}
@@ -0,0 +1,96 @@
+package com.together.server.infra.smartchoice;
+
+import com.together.server.domain.plan.SmartChoicePlan;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.xml.parsers.DocumentBuilderFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+/**
+ * SmartChoice openAPI.xml 응답 한 건(smartchoice/openAPI-response.xml, 요금제 480개)을 요금제 목록으로 읽는 비용을 비교합니다.
+ * 요금제 순서가 보장되지 않아 파서는 최저가를 찾아도 멈추지 않으므로, 문서 전체를 읽는 경우만 잽니다.
+ * - streaming: SmartChoiceXmlParser (StAX로 필요한 필드만 읽어 SmartChoicePlan으로 변환)
+ * - domBaseline: 응답을 문자열로 받아 DOM 트리를 만들고 필드마다 getElementsByTagName으로 찾아 HashMap에 담던 이전 방식 (로그 제외)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class SmartChoiceXmlParserBenchmark {
+
+    private static final String RESPONSE = "/smartchoice/openAPI-response.xml";
+
+    private final SmartChoiceXmlParser parser = new SmartChoiceXmlParser();
+    private byte[] xml;
+
+    @Setup
+    public void setUp() throws IOException {
+        try (InputStream in = SmartChoiceXmlParserBenchmark.class.getResourceAsStream(RESPONSE)) {
+            xml = in.readAllBytes();
+        }
+    }
+
+    @Benchmark
+    public List<SmartChoicePlan> streaming() {
+        return parser.parsePlans(new ByteArrayInputStream(xml));
+    }
+
+    @Benchmark
+    public List<Map<String, String>> domBaseline() throws Exception {
+        // 이전에는 WebClient에서 String으로 받은 뒤 BOM 제거, trim 후 다시 바이트로 바꿔 파싱함
+        String body = new String(xml, StandardCharsets.UTF_8).trim();
+        if (body.startsWith("\uFEFF")) {
+            body = body.substring(1);
+        }
+
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        factory.setValidating(false);
+        factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+
+        Document doc = factory.newDocumentBuilder().parse(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+        doc.getDocumentElement().normalize();
+
+        List<Map<String, String>> plans = new ArrayList<>();
+        NodeList itemList = doc.getElementsByTagName("item");
+        for (int i = 0; i < itemList.getLength(); i++) {
+            Node itemNode = itemList.item(i);
+            if (itemNode.getNodeType() == Node.ELEMENT_NODE) {
+                Element element = (Element) itemNode;
+                Map<String, String> plan = new HashMap<>();
+                plan.put("telecom", tagValue("v_tel", element));
+                plan.put("planName", tagValue("v_plan_name", element));
+                plan.put("price", tagValue("v_plan_price", element));
+                plan.put("voice", tagValue("v_plan_display_voice", element));
+                plan.put("data", tagValue("v_plan_display_data", element));
+                plan.put("sms", tagValue("v_plan_display_sms", element));
+                plans.add(plan);
+            }
+        }
+        return plans;
+    }
+
+    private static String tagValue(String tag, Element element) {
+        NodeList nodeList = element.getElementsByTagName(tag);
+        if (nodeList.getLength() == 0) return "";
+        Node node = nodeList.item(0);
+        if (node == null || node.getFirstChild() == null) return "";
+        return node.getFirstChild().getNodeValue();
+    }
+}
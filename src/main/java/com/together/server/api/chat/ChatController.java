@@ -4,6 +4,7 @@ import com.together.server.application.chat.SseChatService;
 import com.together.server.application.chat.request.ChatRequest;
 import com.together.server.infra.security.Accessor;
 import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
@@ -18,16 +19,20 @@ public class ChatController {
     }
 
     @GetMapping("/connect")
-    public SseEmitter connect(@AuthenticationPrincipal Accessor accessor) {
-        return sseChatService.connect(accessor.id());
+    public SseEmitter connect(
+            @AuthenticationPrincipal Accessor accessor,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        return sseChatService.connect(accessor.id(), lastEventId);
     }
 
     @PostMapping("/message")
-    public void sendMessage(
+    public ResponseEntity<Void> sendMessage(
             @AuthenticationPrincipal Accessor accessor,
             @RequestBody @Valid ChatRequest req
     ) {
         sseChatService.sendMessage(accessor.id(), "user", req.content());
+        return ResponseEntity.accepted().build();
     }
 
     @PostMapping("/template")
@@ -25,9 +25,12 @@ public class SmishingChatController {
     }
 
     @GetMapping("/connect")
-    public SseEmitter connect(@AuthenticationPrincipal Accessor accessor) {
+    public SseEmitter connect(
+            @AuthenticationPrincipal Accessor accessor,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
         System.out.println("접속한 유저: " + accessor);
-        return SmishingChatService.connect(accessor.id());
+        return SmishingChatService.connect(accessor.id(), lastEventId);
     }
 
     @PostMapping("/message")
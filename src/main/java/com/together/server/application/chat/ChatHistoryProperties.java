@@ -0,0 +1,10 @@
+package com.together.server.application.chat;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "chat.history")
+public record ChatHistoryProperties(
+        int tokenBudget,
+        int summaryTokenBudget
+) {
+}
@@ -0,0 +1,9 @@
+package com.together.server.application.chat;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "chat.mailbox")
+public record ChatMailboxProperties(
+        int capacity
+) {
+}
@@ -0,0 +1,120 @@
+package com.together.server.application.chat;
+
+import com.together.server.application.sse.SseEmitterService;
+import com.together.server.domain.chat.ChatHistory;
+import com.together.server.domain.chat.ChatMailbox;
+import com.together.server.domain.chat.ChatSession;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사용자별 채팅 세션을 보관하는 저장소입니다.
+ * 세션은 SSE 스트림과 수명을 같이 하며, 연결이 끊긴 뒤 재연결 유예 시간(sse.replay.grace-period)이 지나거나
+ * 새 스트림으로 대체되면 함께 제거됩니다. 유예 시간 안에 Last-Event-ID로 재연결하면 진행 중인 답변을 포함해 세션을 그대로 이어 씁니다.
+ * 따라서 세션 수는 SseEmitterService의 연결 수 상한을 넘지 않습니다.
+ * 세션마다 메시지를 순서대로 처리하는 메일박스(chat.mailbox.capacity)를 하나씩 둡니다.
+ * 세션 수와 보관 중인 대화 크기 게이지는 생성 후 bindTo로 등록합니다.
+ */
+public class ChatSessionRegistry implements MeterBinder {
+
+    private final Map<String, ChatSession> sessions = new ConcurrentHashMap<>();
+    private final String name;
+    private final SseEmitterService sseEmitterService;
+    private final ChatHistoryProperties historyProperties;
+    private final ChatMailboxProperties mailboxProperties;
+    private final Counter rejected;
+
+    public ChatSessionRegistry(
+            String name,
+            SseEmitterService sseEmitterService,
+            ChatHistoryProperties historyProperties,
+            ChatMailboxProperties mailboxProperties,
+            MeterRegistry meterRegistry
+    ) {
+        this.name = name;
+        this.sseEmitterService = sseEmitterService;
+        this.historyProperties = historyProperties;
+        this.mailboxProperties = mailboxProperties;
+        this.rejected = Counter.builder("chat.mailbox.rejected")
+                .description("세션 메일박스가 가득 차 거절된 메시지 수")
+                .tag("service", name)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        Gauge.builder("chat.sessions.live", sessions, Map::size)
+                .tag("service", name)
+                .register(meterRegistry);
+        Gauge.builder("chat.sessions.retained.bytes", this, ChatSessionRegistry::retainedBytes)
+                .tag("service", name)
+                .register(meterRegistry);
+        Gauge.builder("chat.sessions.retained.bytes.avg", this, ChatSessionRegistry::averageRetainedBytes)
+                .tag("service", name)
+                .register(meterRegistry);
+    }
+
+    public ChatSession open(String userId) {
+        ChatHistory history = new ChatHistory(historyProperties.tokenBudget(), historyProperties.summaryTokenBudget());
+        ChatSession session = new ChatSession(userId, history, new ChatMailbox(mailboxProperties.capacity()));
+        session.attach(sseEmitterService.createEmitter(userId, () -> release(userId, session)));
+        sessions.put(userId, session);
+        return session;
+    }
+
+    /**
+     * 끊긴 세션에 다시 연결하고 lastEventId 이후 놓친 이벤트를 다시 보냅니다. 이어 쓸 세션이 없으면 빈 값을 반환합니다.
+     */
+    public Optional<ChatSession> resume(String userId, String lastEventId) {
+        ChatSession session = sessions.get(userId);
+        if (session == null || lastEventId == null) return Optional.empty();
+
+        Optional<SseEmitter> emitter = sseEmitterService.resumeEmitter(userId, lastEventId);
+        emitter.ifPresent(session::attach);
+        return emitter.map(resumed -> session);
+    }
+
+    public ChatSession get(String userId) {
+        return sessions.get(userId);
+    }
+
+    /**
+     * 메시지 처리를 세션 메일박스에 넣습니다. 메일박스가 가득 찼으면 false를 반환합니다.
+     */
+    public boolean deliver(ChatSession session, ChatMailbox.Handler handler) {
+        boolean accepted = session.getMailbox().offer(handler);
+        if (!accepted) {
+            rejected.increment();
+        }
+        return accepted;
+    }
+
+    /**
+     * 끝난 스트림의 세션만 제거하고 진행 중인 응답을 취소합니다. 새 연결로 만든 세션은 유지됩니다.
+     */
+    private void release(String userId, ChatSession session) {
+        if (sessions.remove(userId, session)) {
+            session.close();
+        }
+    }
+
+    private double retainedBytes() {
+        return sessions.values().stream()
+                .mapToLong(ChatSession::getRetainedBytes)
+                .sum();
+    }
+
+    private double averageRetainedBytes() {
+        return sessions.values().stream()
+                .mapToLong(ChatSession::getRetainedBytes)
+                .average()
+                .orElse(0);
+    }
+}
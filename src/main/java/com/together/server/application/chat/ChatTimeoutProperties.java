@@ -0,0 +1,12 @@
+package com.together.server.application.chat;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "chat.timeout")
+public record ChatTimeoutProperties(
+        long extraction,
+        long planLookup,
+        long streamIdle,
+        long summary
+) {
+}
@@ -0,0 +1,153 @@
+package com.together.server.application.chat;
+
+import com.together.server.domain.chat.ChatSession;
+import com.together.server.domain.chat.TokenEstimator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 세션마다 진행 중인 응답(턴)을 하나만 유지합니다.
+ * 사용자가 답변 도중 새 메시지를 보내면 이전 턴을, 연결이 끊기면(ChatSession.close) 진행 중인 턴을 취소해
+ * OpenAI 스트림이 끝까지 토큰을 소모하거나 두 답변이 한 emitter에 섞여 나가지 않게 합니다.
+ * 취소 횟수는 chat.stream.cancelled{reason=superseded|disconnected},
+ * 취소로 아낀 토큰 수는 chat.stream.tokens.saved로 확인할 수 있습니다.
+ * 아낀 토큰 수는 최근 완료된 응답 길이의 지수 이동 평균에서 취소 시점까지 받은 토큰 수를 뺀 추정치입니다.
+ */
+public class ChatTurnTracker {
+
+    private static final String SUPERSEDED = "superseded";
+    private static final String DISCONNECTED = "disconnected";
+    private static final double EMA_WEIGHT = 0.2;
+
+    private final Counter superseded;
+    private final Counter disconnected;
+    private final Counter tokensSaved;
+    private final ReentrantLock averageLock = new ReentrantLock();
+    private volatile double averageResponseTokens;
+
+    public ChatTurnTracker(String name, MeterRegistry meterRegistry) {
+        this.superseded = cancelledCounter(name, SUPERSEDED, meterRegistry);
+        this.disconnected = cancelledCounter(name, DISCONNECTED, meterRegistry);
+        this.tokensSaved = Counter.builder("chat.stream.tokens.saved")
+                .description("응답 스트림 취소로 받지 않은 OpenAI 토큰 수 (추정)")
+                .tag("service", name)
+                .register(meterRegistry);
+    }
+
+    private static Counter cancelledCounter(String name, String reason, MeterRegistry meterRegistry) {
+        return Counter.builder("chat.stream.cancelled")
+                .description("완료 전에 취소된 응답 턴 수")
+                .tag("service", name)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 새 턴을 시작합니다. 세션에 아직 진행 중인 턴이 있으면 새 턴이 응답을 보내기 전에 먼저 취소합니다.
+     */
+    public Turn begin(ChatSession session) {
+        Turn turn = new Turn();
+        cancel(session.replaceActiveTurn(turn));
+        return turn;
+    }
+
+    /**
+     * 새 메시지가 메일박스에 들어간 뒤, 그 전에 진행 중이던 턴(previous)을 취소해 메일박스가 새 메시지를 바로 처리할 수 있게 합니다.
+     * previous는 메시지를 넣기 전에 getActiveTurn()으로 읽어 둔 값이며, 그사이 새 메시지의 턴이 이미 시작되었더라도 그 턴은 취소하지 않습니다.
+     */
+    public void supersede(ChatSession session, Disposable previous) {
+        if (previous == null) return;
+        session.clearActiveTurn(previous);
+        cancel(previous);
+    }
+
+    private void cancel(Disposable previous) {
+        if (previous instanceof Turn previousTurn) {
+            previousTurn.cancel(SUPERSEDED);
+        } else if (previous != null) {
+            previous.dispose();
+        }
+    }
+
+    private void recordCompleted(int tokens) {
+        // 여러 세션의 턴이 동시에 끝날 수 있음. 가상 스레드가 캐리어 스레드에 고정되지 않도록 synchronized 대신 ReentrantLock 사용
+        averageLock.lock();
+        try {
+            averageResponseTokens = averageResponseTokens == 0
+                    ? tokens
+                    : averageResponseTokens + EMA_WEIGHT * (tokens - averageResponseTokens);
+        } finally {
+            averageLock.unlock();
+        }
+    }
+
+    public class Turn implements Disposable {
+
+        private final Sinks.One<Boolean> cancelled = Sinks.one();
+        private final AtomicInteger streamedTokens = new AtomicInteger();
+        private final AtomicBoolean finished = new AtomicBoolean();
+        private volatile boolean streaming;
+
+        /**
+         * 이 턴의 응답 파이프라인을 감싸, 턴이 취소되면 파이프라인도 취소되고 빈 값으로 끝나게 합니다.
+         * 이미 취소된 턴이면 파이프라인은 시작하자마자 끝납니다.
+         */
+        public Mono<Void> run(Mono<Void> pipeline) {
+            return pipeline.takeUntilOther(cancelled.asMono());
+        }
+
+        /**
+         * OpenAI 응답 스트림을 감싸 받은 토큰 수를 셉니다.
+         */
+        public Flux<String> meter(Flux<String> stream) {
+            return stream
+                    .doOnSubscribe(s -> streaming = true)
+                    .doOnNext(chunk -> streamedTokens.addAndGet(TokenEstimator.estimate(chunk)));
+        }
+
+        /**
+         * OpenAI 응답이 끝까지 전송되었을 때 호출합니다. 받은 토큰 수를 응답 길이 평균에 반영합니다.
+         */
+        public void complete() {
+            if (finished.compareAndSet(false, true) && streaming) {
+                recordCompleted(streamedTokens.get());
+            }
+        }
+
+        /**
+         * 실패, 대체 문구 응답, 저장된 분석 재전송처럼 OpenAI 응답을 끝까지 받지 않은 채 끝난 턴을 정리합니다.
+         * 일부만 받은 응답이 평균을 끌어내리지 않도록 토큰 수는 반영하지 않습니다. 이미 끝난 턴이면 아무것도 하지 않습니다.
+         */
+        public void release() {
+            finished.set(true);
+        }
+
+        @Override
+        public void dispose() {
+            cancel(DISCONNECTED);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return finished.get();
+        }
+
+        private void cancel(String reason) {
+            if (finished.compareAndSet(false, true)) {
+                (SUPERSEDED.equals(reason) ? superseded : disconnected).increment();
+                if (streaming) {
+                    tokensSaved.increment(Math.max(0, averageResponseTokens - streamedTokens.get()));
+                }
+            }
+            cancelled.tryEmitValue(true);
+        }
+    }
+}
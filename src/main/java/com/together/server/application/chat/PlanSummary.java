@@ -0,0 +1,10 @@
+package com.together.server.application.chat;
+
+/**
+ * 대리점 안내용 요금제 요약입니다. summary 이벤트의 본문으로 그대로 전송됩니다.
+ */
+public record PlanSummary(
+        String title,
+        String content
+) {
+}
@@ -0,0 +1,12 @@
+package com.together.server.application.chat;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "chat.summary-cache")
+public record PlanSummaryCacheProperties(
+        long maximumSize,
+        long expireAfterWrite,
+        boolean warmOnRecommend,
+        int warmMinRecommendations
+) {
+}
@@ -0,0 +1,174 @@
+package com.together.server.application.chat;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.together.server.domain.plan.SmartChoicePlan;
+import com.together.server.infra.openai.OpenAiChatClient;
+import com.together.server.infra.resilience.UpstreamGuard;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 요금제별 안내 요약(제목/내용)을 보관합니다. 요약은 사용자와 무관하게 요금제 정보만으로 정해지므로,
+ * 한 번 만든 요약은 같은 요금제를 추천받은 모든 사용자에게 OpenAI 호출 없이 바로 돌려줍니다.
+ * - 키는 요금제명, 통신사, 가격, 제공량 (목록이 갱신되어 내용이 바뀌면 다른 키가 됨)
+ * - 여러 번 추천된 요금제는 추천 시점에 요약을 미리 만들어 둠 (chat.summary-cache.warm-on-recommend, warm-min-recommendations)
+ *   한 번 추천되고 마는 요금제까지 미리 만들면 아무도 보지 않는 요약에 OpenAI 호출이 쓰이므로, 자주 추천되는 요금제만 대상
+ * - OpenAI 호출이 제한되어 만든 대체 문구는 저장하지 않음
+ * 최대 개수와 만료 시간은 chat.summary-cache 설정을 따르며, 적중률은 cache.gets 메트릭(cache=planSummaries)으로 확인할 수 있습니다.
+ */
+@Slf4j
+@Component
+public class PlanSummaryStore {
+
+    private static final String CACHE_NAME = "planSummaries";
+
+    private final OpenAiChatClient openAiChatClient;
+    private final Cache<PlanKey, PlanSummary> cache;
+    private final boolean warmOnRecommend;
+    private final int warmMinRecommendations;
+    private final Cache<PlanKey, AtomicInteger> recommendations;
+
+    public PlanSummaryStore(
+            OpenAiChatClient openAiChatClient,
+            PlanSummaryCacheProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.openAiChatClient = openAiChatClient;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(Duration.ofMillis(properties.expireAfterWrite()))
+                .recordStats()
+                .build();
+        this.warmOnRecommend = properties.warmOnRecommend();
+        this.warmMinRecommendations = properties.warmMinRecommendations();
+        this.recommendations = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(Duration.ofMillis(properties.expireAfterWrite()))
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * 저장된 요약이 있으면 바로, 없으면 OpenAI로 만들어 저장한 뒤 돌려줍니다.
+     * 같은 요금제에 대한 동시 요청은 OpenAiChatClient에서 한 번의 호출로 합쳐집니다.
+     */
+    public Mono<PlanSummary> get(SmartChoicePlan plan) {
+        PlanKey key = PlanKey.of(plan);
+        PlanSummary cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+
+        return openAiChatClient.generateSummaryResponse(buildPrompt(plan))
+                .map(response -> parse(plan, response))
+                .doOnNext(summary -> cache.put(key, summary))
+                .onErrorResume(UpstreamGuard::isRejected, e -> Mono.just(parse(plan, fallbackSummary(plan))));
+    }
+
+    /**
+     * 요금제가 추천된 횟수를 세고, warm-min-recommendations 이상 추천된 요금제의 요약을 백그라운드에서 미리 만들어 둡니다.
+     * 실패해도 요약 요청 시 다시 시도하므로 로그만 남깁니다.
+     */
+    public void warm(SmartChoicePlan plan) {
+        if (!warmOnRecommend) return;
+
+        PlanKey key = PlanKey.of(plan);
+        int count = recommendations.get(key, k -> new AtomicInteger()).incrementAndGet();
+        if (count < warmMinRecommendations || cache.getIfPresent(key) != null) return;
+
+        get(plan).subscribe(
+                summary -> log.debug("[요금제 요약 준비] {}", plan.getPlanName()),
+                e -> log.warn("요금제 요약 미리 만들기 실패: {}", plan.getPlanName(), e)
+        );
+    }
+
+    private String buildPrompt(SmartChoicePlan plan) {
+        return String.format("""
+다음은 고객에게 추천된 요금제입니다.
+이 정보를 바탕으로 **시니어 고객이 대리점에 방문해서 직원에게 보여줄 수 있는 안내 문구**를 만들어주세요.
+
+- 요금제명: %s
+- 통신사: %s
+- 음성: %s분
+- 문자: %s건
+- 데이터: %sGB
+- 월요금: %s원
+
+[요구사항]
+1. 첫 번째 줄은 아래 형식으로 작성해주세요:
+   제목: %s
+
+2. 두 번째 줄부터는 아래 형식으로 작성해주세요:
+   내용: (1~2줄로 요금제의 핵심 특징을 요약하고,
+           다음 줄에 시니어 고객이 대리점에서 말할 수 있는 문장을 따옴표 안에 작성해주세요,
+           마지막 줄에는 직원에게 이 문장을 보여주면 된다는 안내 문구도 덧붙여주세요)
+
+3. 예시:
+   제목: LTE 시니어 16.5
+   내용: 월 16500원에 70분 통화, 100건 문자, 300MB 데이터를 사용할 수 있어요.
+         "LGU+ LTE 시니어 16.5 요금제로 바꿔주세요."
+         이 문장을 직원분께 보여주시면 바로 도와주실 거예요.
+
+4. 직원이 문장만 읽어도 어떤 요금제인지 바로 이해할 수 있도록 작성해주세요.
+""",
+                plan.getPlanName(),
+                plan.getTelecom(),
+                plan.getVoice(),
+                plan.getSms(),
+                plan.getData(),
+                plan.getPrice(),
+                plan.getPlanName()
+        );
+    }
+
+    private PlanSummary parse(SmartChoicePlan plan, String response) {
+        boolean foundContent = false;
+        StringBuilder bodyBuilder = new StringBuilder();
+
+        for (String line : response.split("\n")) {
+            if (line.startsWith("내용:")) {
+                foundContent = true;
+                bodyBuilder.append(line.substring("내용:".length()).trim()).append("\n");
+            } else if (foundContent) {
+                bodyBuilder.append(line).append("\n");
+            }
+        }
+
+        return new PlanSummary(plan.getPlanName(), bodyBuilder.toString().trim());
+    }
+
+    /**
+     * OpenAI 호출이 제한되었을 때 요금제 정보만으로 만드는 안내 문구입니다. 응답 형식은 요약 프롬프트와 같습니다.
+     */
+    private String fallbackSummary(SmartChoicePlan plan) {
+        return String.format("""
+제목: %s
+내용: 월 %s원 요금제예요. (통화 %s / 문자 %s / 데이터 %s)
+"%s %s 요금제로 바꿔주세요."
+이 문장을 직원분께 보여주시면 바로 도와주실 거예요.
+""",
+                plan.getPlanName(),
+                plan.getPrice(),
+                plan.getVoice(),
+                plan.getSms(),
+                plan.getData(),
+                plan.getTelecom(),
+                plan.getPlanName()
+        );
+    }
+
+    private record PlanKey(String planName, String telecom, int price, String voice, String sms, String data) {
+
+        static PlanKey of(SmartChoicePlan plan) {
+            return new PlanKey(plan.getPlanName(), plan.getTelecom(), plan.getPrice(),
+                    plan.getVoice(), plan.getSms(), plan.getData());
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.together.server.application.chat;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.together.server.support.digest.Fingerprints;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 스미싱 문자 분석 결과를 문자 내용의 지문 기준으로 보관하는 캐시입니다.
+ * 같은 문자가 대량 발송되므로, 수신자마다 다른 부분을 지운 뒤 지문을 만듭니다.
+ * - 전각 문자 등은 NFKC로 통일하고 소문자로 변환
+ * - URL은 도메인만 남기고 경로/쿼리는 제거 (수신자별 추적 코드가 경로에 붙는 경우가 많음)
+ * - 전화번호는 하나의 표시로 바꿈 (금액, 날짜 등 나머지 숫자는 분석 내용이 달라질 수 있어 그대로 둠)
+ * - 연속 공백을 하나로 합친 뒤 Fingerprints로 지문을 만듦
+ * - 차단 목록에 걸린 링크가 있으면 그 목록도 지문에 포함 (URL 경로를 지워도 차단 여부가 다른 문자는 다른 키)
+ * 최대 개수와 만료 시간은 smishing.cache 설정을 따르며, hit/miss는 cache.gets 메트릭(cache=smishingAnalysis)으로 확인할 수 있습니다.
+ */
+@Component
+public class SmishingAnalysisCache {
+
+    private static final String CACHE_NAME = "smishingAnalysis";
+
+    private static final Pattern URL = Pattern.compile(
+            "(?:https?://)?((?:[a-z0-9-]+\\.)+[a-z]{2,})(?::\\d+)?(?:[/?#]\\S*)?");
+    private static final Pattern PHONE = Pattern.compile(
+            "(?:\\+?82[-\\s]?|0)\\d{1,2}[-\\s.]?\\d{3,4}[-\\s.]?\\d{4}|\\b1[5-9]\\d{2}-?\\d{4}\\b");
+
+    private final Cache<String, String> cache;
+    private final int replayChunkSize;
+
+    public SmishingAnalysisCache(SmishingCacheProperties properties, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(Duration.ofMillis(properties.expireAfterWrite()))
+                .recordStats()
+                .build();
+        this.replayChunkSize = properties.replayChunkSize();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * 문자 내용과 그 문자에서 차단 목록에 걸린 링크로 지문을 만듭니다.
+     * 차단된 링크는 분석 프롬프트에 들어가 결과를 바꾸므로, 경로만 다른 링크나 차단 목록이 다시 적재된 뒤의 같은 문자가
+     * 차단 전에 저장된 분석을 재사용하지 않도록 정렬한 차단 링크 목록을 지문에 포함합니다.
+     */
+    public String fingerprint(String message, List<String> blockedLinks) {
+        if (blockedLinks.isEmpty()) {
+            return Fingerprints.of(normalize(message));
+        }
+        List<String> sorted = blockedLinks.stream().sorted().distinct().toList();
+        return Fingerprints.of(normalize(message) + "\n<blocked:" + String.join(" ", sorted) + ">");
+    }
+
+    public Optional<String> get(String fingerprint) {
+        return Optional.ofNullable(cache.getIfPresent(fingerprint));
+    }
+
+    public void put(String fingerprint, String analysis) {
+        if (analysis == null || analysis.isBlank()) return;
+        cache.put(fingerprint, analysis);
+    }
+
+    /**
+     * 저장된 분석 결과를 스트리밍 응답처럼 보낼 수 있도록 공백/줄바꿈 경계에서 나눕니다.
+     */
+    public List<String> toReplayChunks(String analysis) {
+        List<String> chunks = new ArrayList<>();
+        int start = 0;
+        while (start < analysis.length()) {
+            int end = Math.min(analysis.length(), start + replayChunkSize);
+            if (end < analysis.length()) {
+                int boundary = lastBoundary(analysis, start, end);
+                if (boundary > start) {
+                    end = boundary;
+                }
+            }
+            chunks.add(analysis.substring(start, end));
+            start = end;
+        }
+        return chunks;
+    }
+
+    private static int lastBoundary(String text, int start, int end) {
+        for (int i = end; i > start; i--) {
+            char c = text.charAt(i - 1);
+            if (c == ' ' || c == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static String normalize(String message) {
+        String normalized = Normalizer.normalize(message, Normalizer.Form.NFKC).toLowerCase();
+
+        Matcher url = URL.matcher(normalized);
+        StringBuilder withoutPaths = new StringBuilder(normalized.length());
+        while (url.find()) {
+            url.appendReplacement(withoutPaths, Matcher.quoteReplacement("<url:" + url.group(1) + ">"));
+        }
+        url.appendTail(withoutPaths);
+
+        return PHONE.matcher(withoutPaths).replaceAll("<phone>");
+    }
+}
@@ -0,0 +1,12 @@
+package com.together.server.application.chat;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "smishing.cache")
+public record SmishingCacheProperties(
+        long maximumSize,
+        long expireAfterWrite,
+        int replayChunkSize,
+        long replayInterval
+) {
+}
@@ -1,15 +1,28 @@
 package com.together.server.application.chat;
 
+import com.together.server.application.smishing.SmishingPreClassifier;
+import com.together.server.application.smishing.SmishingVerdict;
 import com.together.server.application.sse.SseEmitterService;
+import com.together.server.application.sse.SseStreamCoalescer;
 import com.together.server.domain.chat.ChatMessage;
 import com.together.server.domain.chat.ChatSession;
+import com.together.server.infra.openai.ChatCompletionTemplate;
+import com.together.server.infra.reputation.DomainReputationStore;
 import com.together.server.infra.openai.OpenAiChatClient;
+import com.together.server.infra.openai.OpenAiMessage;
+import com.together.server.infra.resilience.UpstreamGuard;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 /**
@@ -17,105 +30,192 @@ import java.util.stream.Collectors;
  * 사용자별 채팅 세션을 관리하며, OpenAI API를 통한 스미싱 분석 및 요약 요청 기능도 포함합니다.
  */
 @Service
+@Slf4j
 public class SmishingChatService {
 
-    private final Map<String, ChatSession> smishingChatSessions = new ConcurrentHashMap<>();
+    private static final String SMISHING_SYSTEM_PROMPT =
+            "당신은 스미싱 탐지 전문가 AI입니다. 사용자가 보낸 문자 메시지를 정밀하게 분석하여 스미싱(스마트폰 피싱 사기) 여부를 판단하고, 아래 형식에 맞춰 상세하고 전문적으로 설명해주세요.\n" +
+                    "\n" +
+                    "**매우 중요: 반드시 올바른 띄어쓰기와 자연스럽고 정확한 한국어 문법을 지켜서 작성해주세요. 어색한 표현, 기계적인 문장, 문법 오류는 절대 피해야 합니다.**\n" +
+                    "\n" +
+                    "아래 형식으로 응답하세요:\n" +
+                    "\n" +
+                    "- 스미싱 가능성: 높음 / 보통 / 낮음 (세 단계 중 하나만 선택)\n" +
+                    "\n" +
+                    "- ⛔ 스미싱 의심 요소: (가능성이 높음/보통인 경우만 작성)\n" +
+                    "  각 의심 요소를 번호와 함께 **굵은 글씨**로 소제목을 만들고, 그 아래에 구체적인 분석 내용을 상세히 설명하세요.\n" +
+                    "  \n" +
+                    "  분석할 주요 항목들:\n" +
+                    "  • 발신자 정보 (국외발신, 번호 형태, 공식 기관 사칭 등)\n" +
+                    "  • URL/링크 (도메인 신뢰성, 단축URL 여부, 의심스러운 확장자)\n" +
+                    "  • 메시지 내용 (개인정보 요구, 긴급성 유도, 금전 요구, 협박성 표현)\n" +
+                    "  • 문법/맞춤법 (부자연스러운 표현, 오타, 기계번역체)\n" +
+                    "  • 구체성 부족 (세부 정보 누락, 일반적이지 않은 표현)\n" +
+                    "  • 수신자 특정성 (개인화 정보 부족, 대량 발송 의심)\n" +
+                    "\n" +
+                    "- ✅ 정상 메시지일 가능성: (가능성이 낮음인 경우만 작성)\n" +
+                    "  정상적인 메시지로 판단되는 근거들을 구체적으로 설명하세요.\n" +
+                    "\n" +
+                    "- ⚠\uFE0F 사용자 주의사항: \n" +
+                    "  해당 문자에서 실제로 필요한 조치만 선택하여 간단명료하게 안내하세요.\n" +
+                    "  • 의심스러운 **링크 클릭 금지**\n" +
+                    "  • 절대 **개인정보 입력하지 말 것**\n" +
+                    "  • 출처가 불명확한 경우 **문자 삭제 및 무시**\n" +
+                    "  • 필요시 **118 또는 경찰청 사이버수사대(privacy.go.kr) 신고**\n" +
+                    "  • 공식 기관 사칭 의심 시 **해당 기관에 직접 문의**\n" +
+                    "\n" +
+                    "- 최종 안내: 이 분석 결과는 참고용이며 100% 정확하지 않을 수 있습니다. 의심되는 경우에는 반드시 공식 기관이나 고객센터를 통해 사실 여부를 확인하시기 바랍니다.\n" +
+                    "\n" +
+                    "사용자가 문자 메시지를 보내면, 위 분석 기준에 따라 각 요소를 꼼꼼히 검토하고 전문적이고 구체적인 분석 결과를 출력하세요.";
+
+    // OpenAI 호출이 제한된 동안 분석 대신 보내는 기본 안내
+    private static final String DEGRADED_WARNING =
+            "지금은 문자 분석 요청이 많아 자세한 분석을 해드리기 어렵습니다.\n" +
+                    "\n" +
+                    "- ⚠\uFE0F 사용자 주의사항: \n" +
+                    "  • 문자 속 **링크는 누르지 마세요**\n" +
+                    "  • 절대 **개인정보나 금융정보를 입력하지 마세요**\n" +
+                    "  • 가족, 기관, 택배를 사칭하며 돈이나 앱 설치를 요구하면 **스미싱일 가능성이 높습니다**\n" +
+                    "  • 의심되면 **118 또는 해당 기관 고객센터에 직접 확인**하세요\n" +
+                    "\n" +
+                    "잠시 후 다시 분석을 요청해주세요.";
+
+    private final ChatSessionRegistry smishingChatSessions;
+    private final ChatTurnTracker turns;
     private final SseEmitterService sseEmitterService;
+    private final SseStreamCoalescer streamCoalescer;
     private final OpenAiChatClient openAiChatClient;
+    private final ChatCompletionTemplate smishingTemplate;
+    private final SmishingAnalysisCache analysisCache;
+    private final SmishingPreClassifier preClassifier;
+    private final DomainReputationStore reputationStore;
+    private final Duration replayInterval;
 
     public SmishingChatService(
             SseEmitterService sseEmitterService,
-            OpenAiChatClient openAiChatClient
+            SseStreamCoalescer streamCoalescer,
+            OpenAiChatClient openAiChatClient,
+            SmishingAnalysisCache analysisCache,
+            SmishingPreClassifier preClassifier,
+            DomainReputationStore reputationStore,
+            SmishingCacheProperties cacheProperties,
+            ChatHistoryProperties chatHistoryProperties,
+            ChatMailboxProperties chatMailboxProperties,
+            MeterRegistry meterRegistry
     ) {
+        this.smishingChatSessions = new ChatSessionRegistry("smishing", sseEmitterService, chatHistoryProperties, chatMailboxProperties, meterRegistry);
+        this.smishingChatSessions.bindTo(meterRegistry);
+        this.turns = new ChatTurnTracker("smishing", meterRegistry);
         this.sseEmitterService = sseEmitterService;
+        this.streamCoalescer = streamCoalescer;
         this.openAiChatClient = openAiChatClient;
+        this.smishingTemplate = openAiChatClient.prepareStreamingTemplate(SMISHING_SYSTEM_PROMPT);
+        this.analysisCache = analysisCache;
+        this.preClassifier = preClassifier;
+        this.reputationStore = reputationStore;
+        this.replayInterval = Duration.ofMillis(cacheProperties.replayInterval());
     }
 
-    public SseEmitter connect(String userId) {
-        SseEmitter emitter = sseEmitterService.createEmitter(userId);
-        ChatSession session = new ChatSession(userId, emitter);
-        smishingChatSessions.put(userId, session);
-        return emitter;
+    public SseEmitter connect(String userId, String lastEventId) {
+        ChatSession session = smishingChatSessions.resume(userId, lastEventId)
+                .orElseGet(() -> smishingChatSessions.open(userId));
+        return session.getEmitter();
     }
 
     public void sendMessage(String userId, String sender, String content) {
         ChatSession session = getSession(userId);
         if (session == null) return;
 
+        // 메일박스가 새 문자를 받았을 때만 이전 문자에 대한 분석을 취소하고, 새 문자는 순서대로 분석함
+        Disposable previous = session.getActiveTurn();
+        boolean accepted = smishingChatSessions.deliver(session, superseded -> handleMessage(session, sender, content, superseded));
+        if (!accepted) {
+            sendEvent(session, "busy", "이전 문자를 분석하고 있어요. 잠시 후 다시 보내주세요.");
+            return;
+        }
+        turns.supersede(session, previous);
+    }
+
+    private Mono<Void> handleMessage(ChatSession session, String sender, String content, boolean superseded) {
         session.addMessage(new ChatMessage(sender, content));
         sendEvent(session, "question", content);
+        if (superseded) {
+            return Mono.empty();
+        }
+
+        ChatTurnTracker.Turn turn = turns.begin(session);
+
+        // 규칙만으로 판단이 확실한 문자는 OpenAI 없이 바로 답함
+        List<String> blockedLinks = reputationStore.findBlocked(content);
+        SmishingVerdict verdict = preClassifier.classify(content, blockedLinks);
+        if (verdict.isLocal()) {
+            return replayAnalysis(session, turn, verdict.analysis());
+        }
+
+        String fingerprint = analysisCache.fingerprint(content, blockedLinks);
+        Optional<String> cached = analysisCache.get(fingerprint);
+        if (cached.isPresent()) {
+            return replayAnalysis(session, turn, cached.get());
+        }
 
-        String promptForMessage =
-
-                "당신은 스미싱 탐지 전문가 AI입니다. 사용자가 보낸 문자 메시지를 정밀하게 분석하여 스미싱(스마트폰 피싱 사기) 여부를 판단하고, 아래 형식에 맞춰 상세하고 전문적으로 설명해주세요.\n" +
-                        "\n" +
-                        "**매우 중요: 반드시 올바른 띄어쓰기와 자연스럽고 정확한 한국어 문법을 지켜서 작성해주세요. 어색한 표현, 기계적인 문장, 문법 오류는 절대 피해야 합니다.**\n" +
-                        "\n" +
-                        "아래 형식으로 응답하세요:\n" +
-                        "\n" +
-                        "- 스미싱 가능성: 높음 / 보통 / 낮음 (세 단계 중 하나만 선택)\n" +
-                        "\n" +
-                        "- ⛔ 스미싱 의심 요소: (가능성이 높음/보통인 경우만 작성)\n" +
-                        "  각 의심 요소를 번호와 함께 **굵은 글씨**로 소제목을 만들고, 그 아래에 구체적인 분석 내용을 상세히 설명하세요.\n" +
-                        "  \n" +
-                        "  분석할 주요 항목들:\n" +
-                        "  • 발신자 정보 (국외발신, 번호 형태, 공식 기관 사칭 등)\n" +
-                        "  • URL/링크 (도메인 신뢰성, 단축URL 여부, 의심스러운 확장자)\n" +
-                        "  • 메시지 내용 (개인정보 요구, 긴급성 유도, 금전 요구, 협박성 표현)\n" +
-                        "  • 문법/맞춤법 (부자연스러운 표현, 오타, 기계번역체)\n" +
-                        "  • 구체성 부족 (세부 정보 누락, 일반적이지 않은 표현)\n" +
-                        "  • 수신자 특정성 (개인화 정보 부족, 대량 발송 의심)\n" +
-                        "\n" +
-                        "- ✅ 정상 메시지일 가능성: (가능성이 낮음인 경우만 작성)\n" +
-                        "  정상적인 메시지로 판단되는 근거들을 구체적으로 설명하세요.\n" +
-                        "\n" +
-                        "- ⚠\uFE0F 사용자 주의사항: \n" +
-                        "  해당 문자에서 실제로 필요한 조치만 선택하여 간단명료하게 안내하세요.\n" +
-                        "  • 의심스러운 **링크 클릭 금지**\n" +
-                        "  • 절대 **개인정보 입력하지 말 것**\n" +
-                        "  • 출처가 불명확한 경우 **문자 삭제 및 무시**\n" +
-                        "  • 필요시 **118 또는 경찰청 사이버수사대(privacy.go.kr) 신고**\n" +
-                        "  • 공식 기관 사칭 의심 시 **해당 기관에 직접 문의**\n" +
-                        "\n" +
-                        "- 최종 안내: 이 분석 결과는 참고용이며 100% 정확하지 않을 수 있습니다. 의심되는 경우에는 반드시 공식 기관이나 고객센터를 통해 사실 여부를 확인하시기 바랍니다.\n" +
-                        "\n" +
-                        "사용자가 문자 메시지를 보내면, 위 분석 기준에 따라 각 요소를 꼼꼼히 검토하고 전문적이고 구체적인 분석 결과를 출력하세요."
-
-                        + "\n"
-                        + "아래는 사용자가 보낸 문자메시지입니다:\n"
-                        + "\n"
-                        + "\"\"\"\n"
-                        + content
-                        + "\n\"\"\"\n"
-                        + "\n"
-                        + "이제 분석 결과를 위 형식에 맞추어 출력하세요.";
-
-        final StringBuilder chunkBuffer = new StringBuilder();
-
-        Disposable subscription = openAiChatClient.streamChatCompletion(promptForMessage)
-                .subscribe(
-                        chunk -> {
-                            chunkBuffer.append(chunk);
-
-                            if (chunk.endsWith(" ") || chunk.endsWith("\n")) {
-                                sendEvent(session, "stream_chat", chunkBuffer.toString());
-                                chunkBuffer.setLength(0); // 초기화
-                            }
-                        },
-                        error -> {
-                            System.err.println("OpenAI API Error: " + error.getMessage());
-                            sendEvent(session, "error", "AI 응답 중 오류가 발생했습니다: " + error.getMessage());
-                        },
-                        () -> {
-                            if (chunkBuffer.length() > 0) {
-                                sendEvent(session, "stream_chat", chunkBuffer.toString());
-                                chunkBuffer.setLength(0);
-                            }
-                            sendEvent(session, "done", "done");
-                        }
-                );
+        String promptForMessage = "아래는 사용자가 보낸 문자메시지입니다:\n"
+                + "\n"
+                + "\"\"\"\n"
+                + content
+                + "\n\"\"\"\n"
+                + "\n"
+                + blocklistNotice(blockedLinks)
+                + "이제 분석 결과를 위 형식에 맞추어 출력하세요.";
+
+        final StringBuilder fullAnalysis = new StringBuilder();
+        final AtomicBoolean degraded = new AtomicBoolean();
+
+        Flux<String> analysis = turn.meter(openAiChatClient.streamChatCompletion(
+                        smishingTemplate, List.of(OpenAiMessage.user(promptForMessage))))
+                .onErrorResume(UpstreamGuard::isRejected, e -> {
+                    degraded.set(true);
+                    return Flux.just(DEGRADED_WARNING);
+                })
+                .doOnNext(fullAnalysis::append);
+
+        return turn.run(streamCoalescer.coalesce(session.getUserId(), "smishing", analysis)
+                .doOnNext(frame -> sendEvent(session, "stream_chat", frame))
+                .doOnComplete(() -> {
+                    sendEvent(session, "done", "done");
+                    if (!degraded.get()) {
+                        analysisCache.put(fingerprint, fullAnalysis.toString());
+                        turn.complete();
+                    }
+                })
+                .doOnError(error -> {
+                    log.error("OpenAI 호출 실패 - userId={}", session.getUserId(), error);
+                    sendEvent(session, "error", "AI 응답 중 오류가 발생했습니다: " + error.getMessage());
+                })
+                .then()
+                .onErrorResume(error -> Mono.empty())
+                // 실패하거나 대체 문구로 끝난 턴은 토큰 수를 반영하지 않고 정리만 함 (완료·취소된 턴은 이미 끝난 상태라 무시됨)
+                .doFinally(signal -> turn.release()));
+    }
 
+    private String blocklistNotice(List<String> blockedLinks) {
+        if (blockedLinks.isEmpty()) {
+            return "";
+        }
+        return "참고: 이 문자의 다음 링크는 악성 도메인 차단 목록에 등록되어 있습니다: "
+                + String.join(", ", blockedLinks) + "\n\n";
+    }
 
+    /**
+     * 사전 분류 결과나 같은 문자에 대해 저장된 분석 결과를 OpenAI 호출 없이 보냅니다.
+     * 실시간 응답과 같은 화면 흐름이 되도록 조각으로 나누어 smishing.cache.replay-interval 간격으로 보냅니다.
+     */
+    private Mono<Void> replayAnalysis(ChatSession session, ChatTurnTracker.Turn turn, String analysis) {
+        return turn.run(Flux.fromIterable(analysisCache.toReplayChunks(analysis))
+                .delayElements(replayInterval)
+                .doOnNext(chunk -> sendEvent(session, "stream_chat", chunk))
+                .doOnComplete(() -> sendEvent(session, "done", "done"))
+                .then()
+                .doFinally(signal -> turn.release()));
     }
 
 
@@ -127,8 +227,8 @@ public class SmishingChatService {
         try {
             sseEmitterService.sendEvent(session.getUserId(), eventType, data);
         } catch (Exception e) {
-            System.err.println("SSE send error: " + e.getMessage() + " - Event: " + eventType + ", Data: " + data);
             // 에러 발생해도 바로 제거하지 말고 로그만 남기기
+            log.warn("SSE 이벤트 전송 실패 - userId={}, event={}", session.getUserId(), eventType, e);
         }
     }
 }
\ No newline at end of file
@@ -1,163 +1,332 @@
 package com.together.server.application.chat;
 
 import com.together.server.application.sse.SseEmitterService;
+import com.together.server.application.sse.SseStreamCoalescer;
 import com.together.server.domain.chat.ChatMessage;
 import com.together.server.domain.chat.ChatSession;
+import com.together.server.domain.chat.KoreanConditionParser;
 import com.together.server.domain.plan.SmartChoicePlan;
+import com.together.server.infra.openai.ChatCompletionTemplate;
 import com.together.server.infra.openai.OpenAiChatClient;
+import com.together.server.infra.openai.OpenAiMessage;
+import com.together.server.infra.resilience.UpstreamGuard;
 import com.together.server.infra.smartchoice.SmartChoiceClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 public class SseChatService {
 
-    private final Map<String, ChatSession> chatSessions = new ConcurrentHashMap<>();
+    private final ChatSessionRegistry chatSessions;
+    private final ChatTurnTracker turns;
     private final SseEmitterService sseEmitterService;
+    private final SseStreamCoalescer streamCoalescer;
     private final OpenAiChatClient openAiChatClient;
     private final SmartChoiceClient smartChoiceClient;
+    private final PlanSummaryStore planSummaryStore;
+    private final ChatCompletionTemplate followUpTemplate;
+    private final ChatTimeoutProperties timeoutProperties;
+    private final boolean speculativeExtraction;
+    private final Timer speculativeTtfb;
+    private final Timer sequentialTtfb;
+    private final Counter localExtractions;
+    private final Counter llmExtractions;
 
     private static final Set<String> REQUIRED_KEYS = Set.of("voice", "data", "sms", "age", "type");
 
+    private static final String FOLLOW_UP_SYSTEM_PROMPT = String.join("\n",
+            "사용자에게 **하루 기준으로** 질문하고, 대답을 바탕으로 한 달 예상 사용량을 계산해.",
+            "",
+            "🎯 수집해야 할 정보:",
+            "- voice (통화): 하루 통화 시간 (예: 10분)",
+            "- data (데이터): 유튜브/인터넷 이용 시간 (예: 하루 1시간)",
+            "- sms (문자): 하루 문자 건수 (예: 5건)",
+            "- age (연령): 나이 또는 연령대 (예: 75세)",
+            "- type (통신망): 사용 중인 휴대폰 유형 (예: LTE, 5G)",
+            "",
+            "⛔ 어려운 용어나 숫자 대신, 일상적인 활동 기준으로 예시를 들어 설명해줘.",
+            "❗ 반드시 한 번에 하나의 항목만 질문해야 해. 예를 들어 통화 시간과 문자 건수를 한 문장에서 묻지 마.",
+            "❌ 잘못된 예시: 하루에 통화랑 문자 얼마나 하세요?",
+            "✅ 올바른 예시: 하루에 통화를 얼마나 하세요?"
+    );
+
     public SseChatService(
             SseEmitterService sseEmitterService,
+            SseStreamCoalescer streamCoalescer,
             OpenAiChatClient openAiChatClient,
-            SmartChoiceClient smartChoiceClient
+            SmartChoiceClient smartChoiceClient,
+            PlanSummaryStore planSummaryStore,
+            ChatHistoryProperties chatHistoryProperties,
+            ChatMailboxProperties chatMailboxProperties,
+            ChatTimeoutProperties timeoutProperties,
+            @Value("${chat.speculative-extraction}") boolean speculativeExtraction,
+            MeterRegistry meterRegistry
     ) {
+        this.chatSessions = new ChatSessionRegistry("chat", sseEmitterService, chatHistoryProperties, chatMailboxProperties, meterRegistry);
+        this.chatSessions.bindTo(meterRegistry);
+        this.turns = new ChatTurnTracker("chat", meterRegistry);
         this.sseEmitterService = sseEmitterService;
+        this.streamCoalescer = streamCoalescer;
         this.openAiChatClient = openAiChatClient;
         this.smartChoiceClient = smartChoiceClient;
+        this.planSummaryStore = planSummaryStore;
+        this.followUpTemplate = openAiChatClient.prepareStreamingTemplate(FOLLOW_UP_SYSTEM_PROMPT);
+        this.timeoutProperties = timeoutProperties;
+        this.speculativeExtraction = speculativeExtraction;
+        this.speculativeTtfb = turnTtfbTimer("speculative", meterRegistry);
+        this.sequentialTtfb = turnTtfbTimer("sequential", meterRegistry);
+        this.localExtractions = extractionCounter("local", meterRegistry);
+        this.llmExtractions = extractionCounter("llm", meterRegistry);
+    }
+
+    private static Counter extractionCounter(String source, MeterRegistry meterRegistry) {
+        return Counter.builder("chat.conditions.extracted")
+                .description("사용 조건 추출 방식별 횟수 (local: 로컬 파서, llm: OpenAI 호출)")
+                .tag("source", source)
+                .register(meterRegistry);
     }
 
-    public SseEmitter connect(String userId) {
-        SseEmitter emitter = sseEmitterService.createEmitter(userId);
-        ChatSession session = new ChatSession(userId, emitter);
-        chatSessions.put(userId, session);
+    private static Timer turnTtfbTimer(String mode, MeterRegistry meterRegistry) {
+        return Timer.builder("chat.turn.ttfb")
+                .description("메시지 수신부터 첫 응답 이벤트 전송까지 걸린 시간")
+                .tag("mode", mode)
+                .register(meterRegistry);
+    }
+
+    /**
+     * lastEventId(Last-Event-ID 헤더)가 있으면 끊긴 세션을 이어 받고, 없거나 이어 받을 수 없으면 새 세션을 엽니다.
+     */
+    public SseEmitter connect(String userId, String lastEventId) {
+        Optional<ChatSession> resumed = chatSessions.resume(userId, lastEventId);
+        if (resumed.isPresent()) {
+            return resumed.get().getEmitter();
+        }
+
+        ChatSession session = chatSessions.open(userId);
         sendEvent(userId, "answer", "안녕하세요! 요금제 추천 도우미예요 😊 궁금한 점을 물어봐 주세요!");
-        return emitter;
+        return session.getEmitter();
     }
 
+    /**
+     * 사용자 메시지를 받아 조건 추출 → (요금제 조회 | 후속 질문 스트리밍)을 하나의 리액티브 파이프라인으로 실행합니다.
+     * 메시지는 세션 메일박스에 넣고 바로 반환되며, 같은 세션의 메시지는 도착 순서대로 하나씩 처리되고 결과는 모두 SSE로 전달됩니다.
+     * 답변 중에 새 메시지가 오면 진행 중인 답변을 취소하고, 처리 차례가 왔을 때 이미 뒤 메시지가 있으면 기록만 남기고 답변은 생략합니다.
+     * 각 단계에는 chat.timeout 설정의 타임아웃이 적용되고, 연결이 끊기거나 새 메시지가 들어오면 진행 중인 파이프라인도 취소됩니다.
+     * chat.speculative-extraction이 켜져 있으면 LLM 조건 추출과 후속 질문 스트림을 동시에 시작하고,
+     * 로컬 파서로 조건을 확정한 답변은 추출이 바로 끝나므로 순차 경로로 처리합니다.
+     */
     public void sendMessage(String userId, String sender, String content) {
         ChatSession session = chatSessions.get(userId);
         if (session == null) return;
 
+        // 메일박스가 거절하면 진행 중인 답변은 그대로 두어야 하므로, 받아들인 뒤에만 이전 턴을 취소
+        Disposable previous = session.getActiveTurn();
+        boolean accepted = chatSessions.deliver(session, superseded -> handleMessage(session, sender, content, superseded));
+        if (!accepted) {
+            sendEvent(userId, "busy", "이전 메시지를 처리하고 있어요. 잠시 후 다시 보내주세요.");
+            return;
+        }
+        turns.supersede(session, previous);
+    }
+
+    private Mono<Void> handleMessage(ChatSession session, String sender, String content, boolean superseded) {
+        String userId = session.getUserId();
         session.addMessage(new ChatMessage(sender, content));
         sendEvent(userId, "question", content);
+        if (superseded) {
+            return Mono.empty();
+        }
+
+        ChatTurnTracker.Turn turn = turns.begin(session);
+        Optional<Map<String, String>> parsed = parseConditions(session, content);
+        Mono<Void> pipeline;
+        if (parsed.isPresent()) {
+            pipeline = runSequentialTurn(session, Mono.just(parsed.get()), turn, new FirstByteTimer(sequentialTtfb));
+        } else if (speculativeExtraction) {
+            pipeline = runSpeculativeTurn(session, extractConditions(content), turn, new FirstByteTimer(speculativeTtfb));
+        } else {
+            pipeline = runSequentialTurn(session, extractConditions(content), turn, new FirstByteTimer(sequentialTtfb));
+        }
+
+        return turn.run(pipeline
+                .doOnSuccess(done -> turn.complete())
+                .onErrorResume(error -> {
+                    log.error("OpenAI 호출 실패", error);
+                    sendEvent(userId, "stream_chat", "AI 응답에 문제가 발생했습니다. 잠시 후 다시 시도해주세요.");
+                    sendEvent(userId, "done", "done");
+                    return Mono.empty();
+                })
+                .doFinally(signal -> turn.release()));
+    }
+
+    private Mono<Void> runSequentialTurn(ChatSession session, Mono<Map<String, String>> extraction, ChatTurnTracker.Turn turn, FirstByteTimer firstByte) {
+        return extraction
+                .flatMap(extracted -> {
+                    applyConditions(session, extracted);
+                    return findMissingKeys(session).isEmpty()
+                            ? recommendPlan(session, firstByte)
+                            : forwardFollowUpStream(session, streamFollowUpQuestion(session, turn), firstByte);
+                });
+    }
+
+    /**
+     * 조건 추출이 끝나기 전에 후속 질문 스트림을 미리 시작해 두고, 도착한 조각은 버퍼에 쌓아 둡니다.
+     * 추출 결과 필수 조건이 모두 모였으면 스트림을 취소하고 요금제 추천으로 전환하며,
+     * 아니면 쌓아 둔 조각부터 이어서 전달합니다. 첫 응답까지의 시간이 두 호출의 합이 아닌 최댓값이 됩니다.
+     * 후속 질문 프롬프트에는 이번 턴에서 추출될 조건이 반영되지 않지만, 대화 기록에 사용자 답변이 포함되어 있습니다.
+     */
+    private Mono<Void> runSpeculativeTurn(ChatSession session, Mono<Map<String, String>> extraction, ChatTurnTracker.Turn turn, FirstByteTimer firstByte) {
+        return Mono.defer(() -> {
+            AtomicReference<Disposable> speculativeConnection = new AtomicReference<>();
+            Flux<String> speculativeStream = streamFollowUpQuestion(session, turn)
+                    .replay()
+                    .autoConnect(0, speculativeConnection::set);
+
+            return extraction
+                    .flatMap(extracted -> {
+                        applyConditions(session, extracted);
+                        if (findMissingKeys(session).isEmpty()) {
+                            cancelSpeculativeStream(speculativeConnection);
+                            return recommendPlan(session, firstByte);
+                        }
+                        return forwardFollowUpStream(session, speculativeStream, firstByte);
+                    })
+                    .doFinally(signal -> cancelSpeculativeStream(speculativeConnection));
+        });
+    }
+
+    private void cancelSpeculativeStream(AtomicReference<Disposable> speculativeConnection) {
+        Disposable connection = speculativeConnection.getAndSet(null);
+        if (connection != null) {
+            connection.dispose();
+        }
+    }
+
+    /**
+     * 직전 질문과 답변만으로 조건을 확정할 수 있으면 로컬 파서 결과를 반환합니다. 애매한 답변은 빈 값이며 OpenAI로 추출합니다.
+     */
+    private Optional<Map<String, String>> parseConditions(ChatSession session, String content) {
+        Optional<Map<String, String>> parsed = KoreanConditionParser.parse(content, session.getLastQuestion());
+        parsed.ifPresent(conditions -> {
+            localExtractions.increment();
+            log.debug("[로컬 조건 추출] userId={} → {}", session.getUserId(), conditions);
+        });
+        return parsed;
+    }
 
-        String conditionJson = openAiChatClient.extractUserConditions(content);
-        Map<String, String> extracted = openAiChatClient.parseConditionJson(conditionJson);
+    private Mono<Map<String, String>> extractConditions(String content) {
+        llmExtractions.increment();
+        return openAiChatClient.extractUserConditions(content)
+                .timeout(Duration.ofMillis(timeoutProperties.extraction()))
+                .map(openAiChatClient::parseConditionJson)
+                // OpenAI 호출이 제한되면 이번 턴은 추출 없이 진행하고, 이어지는 질문에서 다시 받음
+                .onErrorResume(UpstreamGuard::isRejected, e -> Mono.just(Map.of()));
+    }
+
+    private void applyConditions(ChatSession session, Map<String, String> extracted) {
         for (String key : REQUIRED_KEYS) {
             if (extracted.containsKey(key)) {
                 session.setCondition(key, extracted.get(key));
             }
         }
-        log.info("[사용자 조건 누적 상태] userId={} → {}", userId, session.getUserCondition());
+        log.info("[사용자 조건 누적 상태] userId={} → {}", session.getUserId(), session.getUserCondition());
+    }
 
-        Set<String> missing = REQUIRED_KEYS.stream()
+    private Set<String> findMissingKeys(ChatSession session) {
+        return REQUIRED_KEYS.stream()
                 .filter(key -> !session.getUserCondition().containsKey(key))
                 .collect(Collectors.toSet());
+    }
 
-        if (!missing.isEmpty()) {
-            List<Map<String, String>> messages = new ArrayList<>();
-
-            messages.add(Map.of(
-                    "role", "system",
-                    "content", String.join("\n",
-                            "사용자에게 **하루 기준으로** 질문하고, 대답을 바탕으로 한 달 예상 사용량을 계산해.",
-                            "",
-                            "🎯 수집해야 할 정보:",
-                            "- voice (통화): 하루 통화 시간 (예: 10분)",
-                            "- data (데이터): 유튜브/인터넷 이용 시간 (예: 하루 1시간)",
-                            "- sms (문자): 하루 문자 건수 (예: 5건)",
-                            "- age (연령): 나이 또는 연령대 (예: 75세)",
-                            "- type (통신망): 사용 중인 휴대폰 유형 (예: LTE, 5G)",
-                            "",
-                            "⛔ 어려운 용어나 숫자 대신, 일상적인 활동 기준으로 예시를 들어 설명해줘.",
-                            "❗ 반드시 한 번에 하나의 항목만 질문해야 해. 예를 들어 통화 시간과 문자 건수를 한 문장에서 묻지 마.",
-                            "❌ 잘못된 예시: 하루에 통화랑 문자 얼마나 하세요?",
-                            "✅ 올바른 예시: 하루에 통화를 얼마나 하세요?"
-                            )
-            ));
-
-
-            if (!session.getUserCondition().isEmpty()) {
-                StringBuilder summary = new StringBuilder("지금까지 사용자가 알려준 정보:\n");
-                session.getUserCondition().forEach((k, v) -> summary.append("- ").append(k).append(": ").append(v).append("\n"));
-                messages.add(Map.of("role", "system", "content", summary.toString()));
-            }
+    private Flux<String> streamFollowUpQuestion(ChatSession session, ChatTurnTracker.Turn turn) {
+        List<OpenAiMessage> messages = new ArrayList<>();
 
-            messages.addAll(
-                    session.getMessages().stream()
-                            .map(msg -> Map.of("role", msg.getSender(), "content", msg.getContent()))
-                            .toList()
-            );
-
-            try {
-                StringBuilder chunkBuffer = new StringBuilder();
-                Disposable subscription = openAiChatClient.streamMultiturnChatCompletion(messages)
-                        .subscribe(
-                                chunk -> {
-                                    chunkBuffer.append(chunk);
-                                    if (chunk.endsWith(" ") || chunk.endsWith("\n")) {
-                                        sendEvent(userId, "stream_chat", chunkBuffer.toString());
-                                        chunkBuffer.setLength(0);
-                                    }
-                                },
-                                error -> {
-                                    log.error("OpenAI 스트림 응답 오류", error);
-                                    sseEmitterService.removeEmitter(userId);
-                                },
-                                () -> {
-                                    if (chunkBuffer.length() > 0) {
-                                        sendEvent(userId, "stream_chat", chunkBuffer.toString());
-                                    }
-                                    sendEvent(userId, "done", "done");
-                                }
-                        );
-            } catch (Exception e) {
-                log.error("OpenAI 호출 실패", e);
-                sendEvent(userId, "stream_chat", "AI 응답에 문제가 발생했습니다. 잠시 후 다시 시도해주세요.");
-                sendEvent(userId, "done", "done");
-            }
-        } else {
-            sendEvent(userId, "stream_chat", "답변 감사합니다! 😊\n말씀해주신 정보를 바탕으로 아래 가장 적합한 요금제를 추천드립니다!");
-            try {
-                List<Map<String, String>> planList = smartChoiceClient.getPlans(
-                        session.getUserCondition().get("voice"),
-                        session.getUserCondition().get("data"),
-                        session.getUserCondition().get("sms"),
-                        session.getUserCondition().get("age"),
-                        session.getUserCondition().get("type")
-                );
+        if (!session.getUserCondition().isEmpty()) {
+            StringBuilder summary = new StringBuilder("지금까지 사용자가 알려준 정보:\n");
+            session.getUserCondition().forEach((k, v) -> summary.append("- ").append(k).append(": ").append(v).append("\n"));
+            messages.add(OpenAiMessage.system(summary.toString()));
+        }
 
-                Optional<Map<String, String>> lowestLguPlan = planList.stream()
-                        .filter(plan -> "LGU+".equalsIgnoreCase(plan.get("telecom")))
-                        .min(Comparator.comparingInt(p -> Integer.parseInt(p.get("price"))));
+        messages.addAll(
+                session.getHistory().toPromptMessages().stream()
+                        .map(msg -> new OpenAiMessage(msg.getSender(), msg.getContent()))
+                        .toList()
+        );
 
-                if (lowestLguPlan.isEmpty()) {
-                    sendEvent(userId, "stream_chat", "LGU+ 통신사 요금제를 찾을 수 없습니다.");
+        return turn.meter(openAiChatClient.streamChatCompletion(followUpTemplate, messages)
+                .timeout(Duration.ofMillis(timeoutProperties.streamIdle())));
+    }
+
+    private Mono<Void> forwardFollowUpStream(ChatSession session, Flux<String> stream, FirstByteTimer firstByte) {
+        String userId = session.getUserId();
+        StringBuilder question = new StringBuilder();
+        return streamCoalescer.coalesce(userId, "chat", stream.doOnNext(question::append))
+                .doOnNext(frame -> {
+                    firstByte.mark();
+                    sendEvent(userId, "stream_chat", frame);
+                })
+                .then(Mono.fromRunnable(() -> {
+                    session.setLastQuestion(question.toString());
                     sendEvent(userId, "done", "done");
-                    return;
-                }
-
-                SmartChoicePlan plan = SmartChoicePlan.from(lowestLguPlan.get());
-                session.setRecommendedPlan(plan);
-                sseEmitterService.sendEvent(userId, "recommend_result", List.of(plan));
-                sendEvent(userId, "done", "done");
-
-            } catch (Exception e) {
-                log.error("요금제 추천 중 오류", e);
-                sendEvent(userId, "stream_chat", "요금제 추천 중 문제가 발생했습니다.");
-                sendEvent(userId, "done", "done");
-            }
-        }
+                }));
+    }
+
+    private Mono<Void> recommendPlan(ChatSession session, FirstByteTimer firstByte) {
+        String userId = session.getUserId();
+        Map<String, String> condition = session.getUserCondition();
+
+        return Mono.defer(() -> {
+                    firstByte.mark();
+                    sendEvent(userId, "stream_chat", "답변 감사합니다! 😊\n말씀해주신 정보를 바탕으로 아래 가장 적합한 요금제를 추천드립니다!");
+                    return smartChoiceClient.getPlans(
+                            condition.get("voice"),
+                            condition.get("data"),
+                            condition.get("sms"),
+                            condition.get("age"),
+                            condition.get("type")
+                    );
+                })
+                .timeout(Duration.ofMillis(timeoutProperties.planLookup()))
+                .doOnNext(planList -> {
+                    Optional<SmartChoicePlan> lowestLguPlan = planList.stream()
+                            .filter(plan -> "LGU+".equalsIgnoreCase(plan.getTelecom()))
+                            .min(Comparator.comparingInt(SmartChoicePlan::getPrice));
+
+                    if (lowestLguPlan.isEmpty()) {
+                        sendEvent(userId, "stream_chat", "LGU+ 통신사 요금제를 찾을 수 없습니다.");
+                        sendEvent(userId, "done", "done");
+                        return;
+                    }
+
+                    SmartChoicePlan plan = lowestLguPlan.get();
+                    session.setRecommendedPlan(plan);
+                    planSummaryStore.warm(plan);
+                    sseEmitterService.sendEvent(userId, "recommend_result", List.of(plan));
+                    sendEvent(userId, "done", "done");
+                })
+                .onErrorResume(e -> {
+                    log.error("요금제 추천 중 오류", e);
+                    sendEvent(userId, "stream_chat", "요금제 추천 중 문제가 발생했습니다.");
+                    sendEvent(userId, "done", "done");
+                    return Mono.empty();
+                })
+                .then();
     }
 
     private void sendEvent(String userId, String eventType, String data) {
@@ -169,6 +338,10 @@ public class SseChatService {
         }
     }
 
+    /**
+     * 추천된 요금제의 안내 요약을 SSE로 보냅니다. 요약은 요금제 단위로 저장되어 있어 대부분 OpenAI 호출 없이 응답하며,
+     * 새로 만들어야 할 때도 요청 스레드를 막지 않습니다.
+     */
     public void requestSummary(String userId) {
         ChatSession session = chatSessions.get(userId);
         if (session == null) return;
@@ -180,69 +353,38 @@ public class SseChatService {
             return;
         }
 
-        String prompt = String.format("""
-다음은 고객에게 추천된 요금제입니다.
-이 정보를 바탕으로 **시니어 고객이 대리점에 방문해서 직원에게 보여줄 수 있는 안내 문구**를 만들어주세요.
-
-- 요금제명: %s
-- 통신사: %s
-- 음성: %s분
-- 문자: %s건
-- 데이터: %sGB
-- 월요금: %s원
-
-[요구사항]
-1. 첫 번째 줄은 아래 형식으로 작성해주세요:
-   제목: %s
-
-2. 두 번째 줄부터는 아래 형식으로 작성해주세요:
-   내용: (1~2줄로 요금제의 핵심 특징을 요약하고,  
-           다음 줄에 시니어 고객이 대리점에서 말할 수 있는 문장을 따옴표 안에 작성해주세요,  
-           마지막 줄에는 직원에게 이 문장을 보여주면 된다는 안내 문구도 덧붙여주세요)
-
-3. 예시:
-   제목: LTE 시니어 16.5  
-   내용: 월 16500원에 70분 통화, 100건 문자, 300MB 데이터를 사용할 수 있어요.  
-         "LGU+ LTE 시니어 16.5 요금제로 바꿔주세요."  
-         이 문장을 직원분께 보여주시면 바로 도와주실 거예요.
-
-4. 직원이 문장만 읽어도 어떤 요금제인지 바로 이해할 수 있도록 작성해주세요.
-""",
-                plan.getPlanName(),
-                plan.getTelecom(),
-                plan.getVoice(),
-                plan.getSms(),
-                plan.getData(),
-                plan.getPrice(),
-                plan.getPlanName()
-        );
-
+        planSummaryStore.get(plan)
+                .timeout(Duration.ofMillis(timeoutProperties.summary()))
+                .subscribe(
+                        summary -> {
+                            sseEmitterService.sendEvent(userId, "summary", summary);
+                            sendEvent(userId, "done", "done");
+                        },
+                        e -> {
+                            log.error("요금제 요약 생성 실패", e);
+                            sendEvent(userId, "summary", "요약을 만들지 못했습니다. 잠시 후 다시 시도해주세요.");
+                            sendEvent(userId, "done", "done");
+                        }
+                );
+    }
 
-        String gptResponse = openAiChatClient.generateSummaryResponse(prompt);
+    /**
+     * 한 턴에서 첫 응답 이벤트가 나가는 시점을 한 번만 기록합니다.
+     */
+    private static class FirstByteTimer {
 
-        String title = plan.getPlanName();
-        String content = "";
+        private final Timer timer;
+        private final long startNanos = System.nanoTime();
+        private final AtomicBoolean recorded = new AtomicBoolean();
 
-        boolean foundContent = false;
-        StringBuilder bodyBuilder = new StringBuilder();
+        FirstByteTimer(Timer timer) {
+            this.timer = timer;
+        }
 
-        for (String line : gptResponse.split("\n")) {
-            if (line.startsWith("내용:")) {
-                foundContent = true;
-                bodyBuilder.append(line.substring("내용:".length()).trim()).append("\n");
-            } else if (foundContent) {
-                bodyBuilder.append(line).append("\n");
+        void mark() {
+            if (recorded.compareAndSet(false, true)) {
+                timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
             }
         }
-
-        content = bodyBuilder.toString().trim();
-
-        Map<String, String> result = Map.of(
-                "title", title,
-                "content", content
-        );
-
-        sseEmitterService.sendEvent(userId, "summary", result);
-        sendEvent(userId, "done", "done");
     }
 }
@@ -5,6 +5,7 @@ import com.together.server.application.member.response.MemberInfoResponse;
 import com.together.server.application.member.response.UpdateMemberInfoResponse;
 import com.together.server.domain.member.Member;
 import com.together.server.domain.member.MemberRepository;
+import com.together.server.infra.security.PrincipalCache;
 import com.together.server.support.error.CoreException;
 import com.together.server.support.error.ErrorType;
 import lombok.RequiredArgsConstructor;
@@ -16,6 +17,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class MemberService {
 
     private final MemberRepository memberRepository;
+    private final PrincipalCache principalCache;
 
     @Transactional(readOnly = true)
     public MemberInfoResponse getMemberInfo(String id) {
@@ -41,6 +43,7 @@ public class MemberService {
         if (request.fontMode() != null) {
             member.updateFontMode(request.fontMode());
         }
+        principalCache.evict(memberId);
 
         return new UpdateMemberInfoResponse(
                 member.getMemberId(),
@@ -59,6 +62,7 @@ public class MemberService {
         }
 
         member.delete();
+        principalCache.evict(memberId);
     }
 
     @Transactional
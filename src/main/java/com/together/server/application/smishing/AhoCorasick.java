@@ -0,0 +1,85 @@
+package com.together.server.application.smishing;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.function.Consumer;
+
+/**
+ * 여러 키워드를 본문 한 번 순회로 모두 찾는 Aho-Corasick 오토마톤입니다.
+ * 생성 후에는 읽기만 하므로 여러 스레드에서 공유할 수 있습니다.
+ */
+final class AhoCorasick<T> {
+
+    private final List<Map<Character, Integer>> transitions;
+    private final int[] failure;
+    private final List<List<T>> outputs;
+
+    private AhoCorasick(List<Map<Character, Integer>> transitions, int[] failure, List<List<T>> outputs) {
+        this.transitions = transitions;
+        this.failure = failure;
+        this.outputs = outputs;
+    }
+
+    static <T> AhoCorasick<T> build(Map<String, T> keywords) {
+        List<Map<Character, Integer>> transitions = new ArrayList<>();
+        List<List<T>> outputs = new ArrayList<>();
+        transitions.add(new HashMap<>());
+        outputs.add(new ArrayList<>());
+
+        keywords.forEach((keyword, payload) -> {
+            int state = 0;
+            for (int i = 0; i < keyword.length(); i++) {
+                char c = keyword.charAt(i);
+                Integer next = transitions.get(state).get(c);
+                if (next == null) {
+                    next = transitions.size();
+                    transitions.add(new HashMap<>());
+                    outputs.add(new ArrayList<>());
+                    transitions.get(state).put(c, next);
+                }
+                state = next;
+            }
+            outputs.get(state).add(payload);
+        });
+
+        // 너비 우선으로 실패 링크를 만들고, 실패 링크 쪽 출력도 합쳐 둠
+        int[] failure = new int[transitions.size()];
+        Queue<Integer> queue = new ArrayDeque<>(transitions.get(0).values());
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (Map.Entry<Character, Integer> edge : transitions.get(state).entrySet()) {
+                char c = edge.getKey();
+                int child = edge.getValue();
+                queue.add(child);
+
+                int fallback = failure[state];
+                while (fallback != 0 && !transitions.get(fallback).containsKey(c)) {
+                    fallback = failure[fallback];
+                }
+                Integer target = transitions.get(fallback).get(c);
+                failure[child] = target != null && target != child ? target : 0;
+                outputs.get(child).addAll(outputs.get(failure[child]));
+            }
+        }
+
+        return new AhoCorasick<>(transitions, failure, outputs);
+    }
+
+    void search(CharSequence text, Consumer<T> onMatch) {
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            while (state != 0 && !transitions.get(state).containsKey(c)) {
+                state = failure[state];
+            }
+            state = transitions.get(state).getOrDefault(c, 0);
+            for (T payload : outputs.get(state)) {
+                onMatch.accept(payload);
+            }
+        }
+    }
+}
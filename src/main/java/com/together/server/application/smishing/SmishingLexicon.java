@@ -0,0 +1,92 @@
+package com.together.server.application.smishing;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 스미싱 사전 분류에 쓰는 키워드, 단축 URL, 의심 도메인 목록입니다.
+ * 키워드는 공백을 제거한 소문자 본문과 비교하므로 공백 없이 소문자로 적습니다.
+ */
+final class SmishingLexicon {
+
+    enum Category {
+        IMPERSONATION("기관/업체 사칭", "택배사, 공공기관, 금융회사 등을 사칭하는 표현이 있습니다.", 3),
+        FAMILY("가족/지인 사칭", "가족이나 지인을 사칭해 휴대폰 고장 등을 핑계로 연락을 유도하는 표현이 있습니다.", 4),
+        URGENCY("긴급성 유도", "기한이나 불이익을 내세워 서두르게 만드는 표현이 있습니다.", 2),
+        MONEY("금전 요구", "송금, 결제, 환급 등 돈과 관련된 행동을 요구합니다.", 3),
+        PERSONAL_DATA("개인정보 요구", "인증번호, 비밀번호, 주민등록번호 등 개인정보를 요구합니다.", 4),
+        APP_INSTALL("앱 설치 유도", "앱 설치나 원격 제어를 유도하는 표현이 있습니다.", 4),
+        PRIZE("혜택/당첨 미끼", "당첨, 지원금, 무료 혜택 등으로 관심을 끄는 표현이 있습니다.", 2);
+
+        private final String title;
+        private final String description;
+        private final int weight;
+
+        Category(String title, String description, int weight) {
+            this.title = title;
+            this.description = description;
+            this.weight = weight;
+        }
+
+        String title() {
+            return title;
+        }
+
+        String description() {
+            return description;
+        }
+
+        int weight() {
+            return weight;
+        }
+    }
+
+    static final Map<String, Category> KEYWORDS = keywords();
+
+    static final Set<String> SHORTENERS = Set.of(
+            "bit.ly", "han.gl", "me2.do", "vo.la", "url.kr", "t.ly", "tinyurl.com", "goo.gl",
+            "is.gd", "c11.kr", "zrr.kr", "buly.kr", "shorturl.at", "rb.gy", "cutt.ly", "t.co",
+            "naver.me", "hoy.kr", "muz.so", "lrl.kr"
+    );
+
+    static final Set<String> SUSPICIOUS_TLDS = Set.of(
+            "xyz", "top", "icu", "click", "live", "shop", "online", "site", "buzz", "cn",
+            "tk", "ml", "ga", "cf", "gq", "cyou", "rest", "sbs", "cfd", "monster"
+    );
+
+    static final List<String> FOREIGN_SENDER_MARKERS = List.of("[국외발신]", "[국제발신]", "(국외발신)", "(국제발신)");
+
+    private SmishingLexicon() {
+    }
+
+    private static Map<String, Category> keywords() {
+        Map<String, Category> keywords = new LinkedHashMap<>();
+        put(keywords, Category.IMPERSONATION,
+                "택배", "배송", "운송장", "송장번호", "주소불명", "우체국", "cj대한통운", "한진택배", "로젠택배",
+                "검찰", "경찰청", "금융감독원", "금감원", "국세청", "건강보험공단", "국민연금", "법원", "등기",
+                "카드승인", "해외결제", "결제승인", "본인확인", "고객센터", "정부24", "교통범칙금", "과태료");
+        put(keywords, Category.FAMILY,
+                "엄마나", "아빠나", "폰고장", "액정깨", "액정이깨", "휴대폰고장", "폰이고장", "임시폰", "이번호로문자");
+        put(keywords, Category.URGENCY,
+                "긴급", "즉시", "오늘까지", "금일중", "정지예정", "이용정지", "차단예정", "미납", "연체",
+                "압류", "소송", "출석요구", "기한내", "마감임박", "반송예정");
+        put(keywords, Category.MONEY,
+                "송금", "입금", "이체", "계좌", "상품권", "기프트카드", "대출", "환급", "결제대금", "보증금", "수수료");
+        put(keywords, Category.PERSONAL_DATA,
+                "인증번호", "비밀번호", "주민등록번호", "주민번호", "카드번호", "보안카드", "otp", "신분증",
+                "개인정보입력", "본인인증");
+        put(keywords, Category.APP_INSTALL,
+                ".apk", "앱설치", "어플설치", "원격제어", "원격지원", "팀뷰어", "보안앱", "플레이스토어외");
+        put(keywords, Category.PRIZE,
+                "당첨", "지원금", "재난지원", "무료쿠폰", "경품", "이벤트당첨", "포인트소멸", "환급금");
+        return keywords;
+    }
+
+    private static void put(Map<String, Category> keywords, Category category, String... words) {
+        for (String word : words) {
+            keywords.put(word, category);
+        }
+    }
+}
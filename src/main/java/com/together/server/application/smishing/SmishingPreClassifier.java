@@ -0,0 +1,166 @@
+package com.together.server.application.smishing;
+
+import com.together.server.application.smishing.SmishingLexicon.Category;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * OpenAI로 보내기 전에 문자 메시지를 규칙으로 먼저 분류합니다.
+ * - 키워드: SmishingLexicon의 분류별 키워드를 Aho-Corasick으로 한 번에 찾고, 분류마다 가중치를 한 번씩 더함
+ * - 링크: 도메인을 뽑아 단축 URL, 의심 TLD, IP 주소 링크에 점수를 더함
+ * - 발신자: 국외/국제발신 표시에 점수를 더함
+ * - 평판: 차단 목록(DomainReputationStore)에 있는 링크가 있으면 그것만으로 "높음"이 되도록 점수를 더함
+ * 점수를 신뢰도(1 - e^(-점수/4))로 바꿔 smishing.pre-classifier.high-confidence 이상이면 "높음"으로 바로 답하고, 나머지는 LLM으로 넘깁니다.
+ * 키워드만으로는 카드 결제대금 연체 안내 같은 정상 문자와 구분되지 않으므로, 의심 링크(단축 URL, IP, 의심 TLD, 차단 목록)나
+ * 국외 발신 표시가 하나 이상 있을 때만 "높음"으로 답합니다.
+ * 키워드가 없다고 정상이라고 볼 수는 없으므로("아들 나야 폰 액정 나가서..." 같은 사칭) "낮음"은 로컬에서 판정하지 않습니다.
+ * 결과는 smishing.preclassifier.verdicts{level}, 소요 시간은 smishing.preclassifier.latency로 확인할 수 있습니다.
+ */
+@Component
+public class SmishingPreClassifier {
+
+    private static final double SCORE_SCALE = 4.0;
+    private static final int LINK_SCORE = 1;
+    private static final int SHORTENER_SCORE = 3;
+    private static final int SUSPICIOUS_TLD_SCORE = 3;
+    private static final int IP_LINK_SCORE = 4;
+    private static final int FOREIGN_SENDER_SCORE = 3;
+    private static final int BLOCKLIST_SCORE = 8;
+
+    private static final Pattern URL = Pattern.compile(
+            "(?:https?://)?((?:[a-z0-9-]+\\.)+[a-z]{2,}|\\d{1,3}(?:\\.\\d{1,3}){3})(?::\\d+)?(?:[/?#]\\S*)?");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final String FINAL_NOTICE =
+            "- 최종 안내: 이 분석 결과는 참고용이며 100% 정확하지 않을 수 있습니다. "
+                    + "의심되는 경우에는 반드시 공식 기관이나 고객센터를 통해 사실 여부를 확인하시기 바랍니다.\n";
+
+    private final AhoCorasick<Map.Entry<String, Category>> keywordMatcher;
+    private final SmishingPreClassifierProperties properties;
+    private final Map<SmishingVerdict.Level, Counter> verdictCounters = new EnumMap<>(SmishingVerdict.Level.class);
+    private final Timer latency;
+
+    public SmishingPreClassifier(SmishingPreClassifierProperties properties, MeterRegistry meterRegistry) {
+        Map<String, Map.Entry<String, Category>> keywords = new LinkedHashMap<>();
+        SmishingLexicon.KEYWORDS.forEach((keyword, category) -> keywords.put(keyword, Map.entry(keyword, category)));
+        this.keywordMatcher = AhoCorasick.build(keywords);
+        this.properties = properties;
+
+        for (SmishingVerdict.Level level : SmishingVerdict.Level.values()) {
+            verdictCounters.put(level, Counter.builder("smishing.preclassifier.verdicts")
+                    .description("사전 분류 결과별 메시지 수")
+                    .tag("level", level.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        this.latency = Timer.builder("smishing.preclassifier.latency")
+                .description("사전 분류에 걸린 시간")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param blockedLinks 메시지에 포함된 링크 중 차단 목록에 있는 도메인/URL
+     */
+    public SmishingVerdict classify(String message, List<String> blockedLinks) {
+        if (!properties.enabled()) {
+            return escalate(0, List.of());
+        }
+
+        long startedAt = System.nanoTime();
+        SmishingVerdict verdict = evaluate(message, blockedLinks);
+        latency.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        verdictCounters.get(verdict.level()).increment();
+        return verdict;
+    }
+
+    private SmishingVerdict evaluate(String message, List<String> blockedLinks) {
+        String normalized = Normalizer.normalize(message, Normalizer.Form.NFKC).toLowerCase();
+        String compact = WHITESPACE.matcher(normalized).replaceAll("");
+
+        Map<Category, Set<String>> matched = new EnumMap<>(Category.class);
+        keywordMatcher.search(compact, hit ->
+                matched.computeIfAbsent(hit.getValue(), key -> new LinkedHashSet<>()).add(hit.getKey()));
+
+        int score = 0;
+        List<String> reasons = new ArrayList<>();
+        for (Map.Entry<Category, Set<String>> entry : matched.entrySet()) {
+            Category category = entry.getKey();
+            score += category.weight();
+            reasons.add("**" + category.title() + "**\n  " + category.description()
+                    + " (발견된 표현: " + String.join(", ", entry.getValue()) + ")");
+        }
+
+        boolean channelSignal = false;
+        Matcher url = URL.matcher(normalized);
+        while (url.find()) {
+            String host = url.group(1);
+            score += LINK_SCORE;
+            if (SmishingLexicon.SHORTENERS.contains(host)) {
+                score += SHORTENER_SCORE;
+                channelSignal = true;
+                reasons.add("**단축 URL 사용**\n  실제 접속 주소를 숨기는 단축 URL(" + host + ")이 포함되어 있습니다.");
+            } else if (Character.isDigit(host.charAt(host.length() - 1))) {
+                score += IP_LINK_SCORE;
+                channelSignal = true;
+                reasons.add("**IP 주소 링크**\n  도메인 대신 IP 주소(" + host + ")로 연결되는 링크가 있습니다.");
+            } else if (SmishingLexicon.SUSPICIOUS_TLDS.contains(host.substring(host.lastIndexOf('.') + 1))) {
+                score += SUSPICIOUS_TLD_SCORE;
+                channelSignal = true;
+                reasons.add("**의심스러운 도메인**\n  공식 기관이 잘 쓰지 않는 도메인(" + host + ")으로 연결됩니다.");
+            }
+        }
+
+        if (!blockedLinks.isEmpty()) {
+            score += BLOCKLIST_SCORE;
+            channelSignal = true;
+            reasons.add("**신고된 악성 링크**\n  악성 도메인 차단 목록에 등록된 주소(" + String.join(", ", blockedLinks) + ")로 연결됩니다.");
+        }
+
+        boolean foreignSender = SmishingLexicon.FOREIGN_SENDER_MARKERS.stream().anyMatch(normalized::contains);
+        if (foreignSender) {
+            score += FOREIGN_SENDER_SCORE;
+            channelSignal = true;
+            reasons.add("**국외 발신**\n  국외에서 발송된 문자로, 국내 기관이나 업체가 보내는 경우는 드뭅니다.");
+        }
+
+        double smishingConfidence = 1 - Math.exp(-score / SCORE_SCALE);
+        if (channelSignal && smishingConfidence >= properties.highConfidence()) {
+            return new SmishingVerdict(SmishingVerdict.Level.HIGH, smishingConfidence, reasons, highAnalysis(reasons));
+        }
+
+        return escalate(smishingConfidence, reasons);
+    }
+
+    private static SmishingVerdict escalate(double confidence, List<String> reasons) {
+        return new SmishingVerdict(SmishingVerdict.Level.ESCALATE, confidence, reasons, null);
+    }
+
+    private static String highAnalysis(List<String> reasons) {
+        StringBuilder analysis = new StringBuilder("- 스미싱 가능성: 높음\n\n- ⛔ 스미싱 의심 요소:\n");
+        for (int i = 0; i < reasons.size(); i++) {
+            analysis.append("  ").append(i + 1).append(". ").append(reasons.get(i)).append("\n");
+        }
+        return analysis.append("\n")
+                .append("- ⚠️ 사용자 주의사항: \n")
+                .append("  • 의심스러운 **링크 클릭 금지**\n")
+                .append("  • 절대 **개인정보 입력하지 말 것**\n")
+                .append("  • 출처가 불명확한 경우 **문자 삭제 및 무시**\n")
+                .append("  • 필요시 **118 또는 경찰청 사이버수사대(privacy.go.kr) 신고**\n")
+                .append("\n")
+                .append(FINAL_NOTICE)
+                .toString();
+    }
+}
@@ -0,0 +1,10 @@
+package com.together.server.application.smishing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "smishing.pre-classifier")
+public record SmishingPreClassifierProperties(
+        boolean enabled,
+        double highConfidence
+) {
+}
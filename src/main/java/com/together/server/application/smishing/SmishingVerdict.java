@@ -0,0 +1,23 @@
+package com.together.server.application.smishing;
+
+import java.util.List;
+
+/**
+ * 사전 분류 결과입니다.
+ * level이 ESCALATE가 아니면 analysis에 LLM 응답과 같은 형식의 분석 문구가 담깁니다.
+ */
+public record SmishingVerdict(
+        Level level,
+        double confidence,
+        List<String> reasons,
+        String analysis
+) {
+
+    public enum Level {
+        HIGH, ESCALATE
+    }
+
+    public boolean isLocal() {
+        return level != Level.ESCALATE;
+    }
+}
@@ -0,0 +1,21 @@
+package com.together.server.application.sse;
+
+/**
+ * 클라이언트별 전송 큐가 가득 찼을 때의 처리 방식입니다.
+ */
+public enum OverflowPolicy {
+    /**
+     * 가장 오래된 이벤트를 버리고 새 이벤트를 넣음
+     */
+    DROP_OLDEST,
+
+    /**
+     * 큐의 마지막 stream_chat 이벤트에 새 조각을 이어 붙임 (불가능하면 DROP_OLDEST)
+     */
+    COALESCE,
+
+    /**
+     * 더 이상 따라오지 못하는 클라이언트로 보고 연결을 종료함
+     */
+    DISCONNECT
+}
@@ -0,0 +1,39 @@
+package com.together.server.application.sse;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 연결 하나의 전송 큐 길이 게이지(sse.client.queue.depth)와 전송 시간 타이머(sse.client.send.latency)입니다.
+ * client 태그는 clientId이며, 연결이 끝나면 close로 레지스트리에서 지우므로 남는 계열 수는 연결 수 상한(sse.reaper.max-emitters)을 넘지 않습니다.
+ */
+class SseClientMeters {
+
+    private final MeterRegistry meterRegistry;
+    private final Gauge queueDepth;
+    private final Timer sendLatency;
+
+    SseClientMeters(String clientId, SseOutboundQueue outbound, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.queueDepth = Gauge.builder("sse.client.queue.depth", outbound, SseOutboundQueue::size)
+                .description("연결별 전송 대기 이벤트 수")
+                .tag("client", clientId)
+                .register(meterRegistry);
+        this.sendLatency = Timer.builder("sse.client.send.latency")
+                .description("연결별 SseEmitter.send 한 번에 걸린 시간")
+                .tag("client", clientId)
+                .register(meterRegistry);
+    }
+
+    void recordSend(long nanos) {
+        sendLatency.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    void close() {
+        meterRegistry.remove(queueDepth);
+        meterRegistry.remove(sendLatency);
+    }
+}
@@ -7,21 +7,43 @@ import java.time.Instant;
 @Getter
 public class SseEmitterData {
     private final SseEmitter emitter;
+    private final SseOutboundQueue outbound;
+    private final SseClientMeters meters;
+    private final Runnable onRemove;
     private final Instant createdAt;
-    private Instant lastEventTime;
+    private volatile Instant lastEventTime;
+    private volatile long lastWriteNanos = System.nanoTime();
 
-    public SseEmitterData(SseEmitter emitter, Instant createdAt, Instant lastEventTime) {
+    public SseEmitterData(SseEmitter emitter, SseOutboundQueue outbound, SseClientMeters meters, Runnable onRemove, Instant createdAt, Instant lastEventTime) {
         this.emitter = emitter;
+        this.outbound = outbound;
+        this.meters = meters;
+        this.onRemove = onRemove;
         this.createdAt = createdAt;
         this.lastEventTime = lastEventTime;
     }
 
-    public static SseEmitterData of(SseEmitter emitter) {
+    public static SseEmitterData of(SseEmitter emitter, SseOutboundQueue outbound, SseClientMeters meters, Runnable onRemove) {
         Instant now = Instant.now();
-        return new SseEmitterData(emitter, now, now);
+        return new SseEmitterData(emitter, outbound, meters, onRemove, now, now);
     }
 
     public void updateLastEventTime() {
         this.lastEventTime = Instant.now();
     }
+
+    public boolean isIdleSince(Instant threshold) {
+        return lastEventTime.isBefore(threshold);
+    }
+
+    /**
+     * 하트비트를 포함해 소켓에 무언가를 쓴 시각을 기록합니다. lastEventTime(유휴 정리 기준)과 달리 하트비트로도 갱신됩니다.
+     */
+    public void markWritten() {
+        this.lastWriteNanos = System.nanoTime();
+    }
+
+    public boolean isSilentFor(long nanos) {
+        return System.nanoTime() - lastWriteNanos >= nanos;
+    }
 }
@@ -1,48 +1,392 @@
 package com.together.server.application.sse;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * 클라이언트별 SseEmitter를 관리하는 컴포넌트입니다.
+ * sendEvent는 이벤트를 클라이언트별 전송 큐에 넣고 바로 반환하며,
+ * 실제 소켓 쓰기는 연결마다 하나씩 띄운 가상 스레드가 담당합니다.
+ * 따라서 느린 클라이언트가 있어도 Reactor 이벤트 루프 등 생산자 스레드는 막히지 않습니다.
+ * 마지막 전송 이후 오래 유휴 상태인 emitter는 주기적으로 정리되며,
+ * 동시 연결 수가 상한을 넘으면 가장 오래 활동이 없던 연결부터 종료합니다.
+ * sendEvent로 보내는 이벤트에는 클라이언트별로 증가하는 id가 붙고, 최근 이벤트는 링 버퍼(sse.replay.capacity)에 보관됩니다.
+ * 연결이 끊겨도 스트림은 sse.replay.grace-period 동안 유지되어 그동안의 이벤트도 쌓이며,
+ * 클라이언트가 Last-Event-ID로 재연결하면(resumeEmitter) 놓친 이벤트만 다시 보냅니다.
+ * 재연결 결과는 sse.replay{result=resumed|overrun|unknown}, 다시 보낸 이벤트 수는 sse.replay.events로 확인할 수 있습니다.
+ * 전송 큐 길이와 전송 시간은 전체 분포(sse.outbound.queue.depth, sse.send.latency) 외에
+ * 연결별로도(sse.client.queue.depth, sse.client.send.latency{client}) 내보내며, 연결별 계열은 연결이 끝나면 제거됩니다.
+ * 프록시/로드밸런서가 조용한 연결을 끊지 않도록, sse.heartbeat.interval 동안 쓴 것이 없는 연결에는
+ * 타이머 휠 하나로 주석 하트비트를 보냅니다. 하트비트 쓰기에 실패한 연결은 유휴 정리를 기다리지 않고 바로 제거합니다.
+ * 타이머 휠은 @Scheduled 스케줄러와 별도의 전용 스레드(sse-heartbeat)에서 돌므로, 다른 예약 작업이 길어져도 하트비트가 밀리지 않습니다.
+ */
+@Slf4j
 @Component
 public class SseEmitterService {
     private static final long EMITTER_TIMEOUT = TimeUnit.DAYS.toMillis(1);
     private final Map<String, SseEmitterData> emitters = new ConcurrentHashMap<>();
+    private final Map<String, SseReplayBuffer> streams = new ConcurrentHashMap<>();
+    private final SseProperties.Outbound outboundProperties;
+    private final SseProperties.Reaper reaperProperties;
+    private final SseProperties.Replay replayProperties;
+    private final SseHeartbeatWheel heartbeatWheel;
+    private final long heartbeatIntervalNanos;
+    private final long heartbeatTick;
+    private final ScheduledExecutorService heartbeatTicker = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("sse-heartbeat").daemon().factory());
+    private final MeterRegistry meterRegistry;
+    private final Timer sendLatency;
+    private final DistributionSummary queueDepth;
+    private final Map<SseOutboundQueue.OfferResult, Counter> overflows = new EnumMap<>(SseOutboundQueue.OfferResult.class);
+    private final Counter reaped;
+    private final Counter replayResumed;
+    private final Counter replayOverrun;
+    private final Counter replayUnknown;
+    private final DistributionSummary replayedEvents;
+    private final Counter heartbeatsSent;
+    private final Counter heartbeatFailures;
+
+    public SseEmitterService(SseProperties properties, MeterRegistry meterRegistry) {
+        this.outboundProperties = properties.outbound();
+        this.reaperProperties = properties.reaper();
+        this.replayProperties = properties.replay();
+        this.heartbeatWheel = new SseHeartbeatWheel(properties.heartbeat().interval(), properties.heartbeat().tick());
+        this.heartbeatIntervalNanos = TimeUnit.MILLISECONDS.toNanos(properties.heartbeat().interval());
+        this.heartbeatTick = properties.heartbeat().tick();
+        this.meterRegistry = meterRegistry;
+        this.sendLatency = Timer.builder("sse.send.latency")
+                .description("SseEmitter.send 한 번에 걸린 시간")
+                .register(meterRegistry);
+        this.queueDepth = DistributionSummary.builder("sse.outbound.queue.depth")
+                .description("이벤트 적재 직후 클라이언트별 전송 큐 길이")
+                .register(meterRegistry);
+        for (SseOutboundQueue.OfferResult result : SseOutboundQueue.OfferResult.values()) {
+            if (result != SseOutboundQueue.OfferResult.ENQUEUED) {
+                overflows.put(result, Counter.builder("sse.outbound.overflow")
+                        .description("전송 큐가 가득 차 overflow-policy가 적용된 이벤트 수")
+                        .tag("result", result.name().toLowerCase())
+                        .register(meterRegistry));
+            }
+        }
+        this.reaped = Counter.builder("sse.emitters.reaped")
+                .description("유휴 시간 초과 또는 연결 수 상한으로 정리된 emitter 수")
+                .register(meterRegistry);
+        this.replayResumed = replayCounter("resumed", meterRegistry);
+        this.replayOverrun = replayCounter("overrun", meterRegistry);
+        this.replayUnknown = replayCounter("unknown", meterRegistry);
+        this.replayedEvents = DistributionSummary.builder("sse.replay.events")
+                .description("재연결 시 다시 보낸 이벤트 수")
+                .register(meterRegistry);
+        this.heartbeatsSent = Counter.builder("sse.heartbeat")
+                .description("조용한 연결에 보낸 하트비트 수")
+                .tag("result", "sent")
+                .register(meterRegistry);
+        this.heartbeatFailures = Counter.builder("sse.heartbeat")
+                .description("하트비트 쓰기 실패로 제거한 연결 수")
+                .tag("result", "failed")
+                .register(meterRegistry);
+        Gauge.builder("sse.emitters.live", emitters, Map::size)
+                .register(meterRegistry);
+        Gauge.builder("sse.streams.live", streams, Map::size)
+                .description("재연결 유예 중인 것을 포함한 클라이언트 스트림 수")
+                .register(meterRegistry);
+    }
 
     public SseEmitter createEmitter(String clientId) {
+        return createEmitter(clientId, () -> { });
+    }
+
+    /**
+     * 새 스트림을 시작합니다. 이전 스트림이 있으면 재연결을 기다리지 않고 바로 끝냅니다.
+     *
+     * @param onExpire 스트림이 끝날 때(재연결 유예 시간 초과 또는 새 스트림으로 대체) 호출
+     */
+    public SseEmitter createEmitter(String clientId, Runnable onExpire) {
+        SseReplayBuffer stream = new SseReplayBuffer(replayProperties.capacity(), onExpire);
+        SseReplayBuffer previous;
+        SseEmitter emitter;
+        stream.lock();
+        try {
+            previous = streams.put(clientId, stream);
+            emitter = attachEmitter(clientId, stream);
+        } finally {
+            stream.unlock();
+        }
+        if (previous != null) {
+            expire(clientId, previous);
+        }
+        return emitter;
+    }
+
+    /**
+     * 끊긴 스트림에 다시 연결하고 lastEventId 이후에 보낸 이벤트를 먼저 보냅니다.
+     * 스트림이 이미 끝났거나 lastEventId가 이 스트림의 번호가 아니면 빈 값을 반환하므로, 호출하는 쪽에서 새 스트림을 시작하면 됩니다.
+     */
+    public Optional<SseEmitter> resumeEmitter(String clientId, String lastEventId) {
+        SseReplayBuffer stream = streams.get(clientId);
+        long afterId = parseEventId(lastEventId);
+        if (stream == null || afterId < 0) {
+            replayUnknown.increment();
+            return Optional.empty();
+        }
+
+        stream.lock();
+        try {
+            if (streams.get(clientId) != stream || !stream.canResumeFrom(afterId)) {
+                replayUnknown.increment();
+                return Optional.empty();
+            }
+            SseEmitter emitter = attachEmitter(clientId, stream);
+            SseEmitterData emitterData = emitters.get(clientId);
+            boolean overrun = stream.isOverrun(afterId);
+            int replayed = stream.replayAfter(afterId, event -> enqueue(clientId, emitterData, event));
+            (overrun ? replayOverrun : replayResumed).increment();
+            replayedEvents.record(replayed);
+            log.debug("SSE 스트림 재연결 - clientId={}, lastEventId={}, replayed={}", clientId, afterId, replayed);
+            return Optional.of(emitter);
+        } finally {
+            stream.unlock();
+        }
+    }
+
+    private static long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) return -1;
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static Counter replayCounter(String result, MeterRegistry meterRegistry) {
+        return Counter.builder("sse.replay")
+                .description("Last-Event-ID 재연결 결과")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private SseEmitter attachEmitter(String clientId, SseReplayBuffer stream) {
         if (emitters.containsKey(clientId)) removeEmitter(clientId);
+        stream.attach();
         SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT);
-        SseEmitterData emitterData = SseEmitterData.of(emitter);
+        SseOutboundQueue outbound = new SseOutboundQueue(
+                outboundProperties.queueCapacity(),
+                outboundProperties.overflowPolicy()
+        );
+        SseClientMeters meters = new SseClientMeters(clientId, outbound, meterRegistry);
+        SseEmitterData emitterData = SseEmitterData.of(emitter, outbound, meters, () -> detach(clientId, stream));
         emitters.put(clientId, emitterData);
-        emitter.onCompletion(() -> removeEmitter(clientId));
-        emitter.onTimeout(() -> removeEmitter(clientId));
-        emitter.onError(throwable -> removeEmitter(clientId));
-        try { emitter.send(SseEmitter.event().name("connected").data("connected")); }
-        catch (Exception e) { /* 로그 처리 필요 */ }
+        heartbeatWheel.add(emitterData);
+        if (emitters.size() > reaperProperties.maxEmitters()) {
+            evictLeastRecentlyActive(reaperProperties.maxEmitters());
+        }
+        emitter.onCompletion(() -> removeEmitter(clientId, emitterData));
+        emitter.onTimeout(() -> removeEmitter(clientId, emitterData));
+        emitter.onError(throwable -> removeEmitter(clientId, emitterData));
+        Thread.ofVirtual()
+                .name("sse-" + clientId)
+                .start(() -> drain(clientId, emitterData));
+        enqueue(clientId, emitterData, new SseEvent("connected", "connected"));
         return emitter;
     }
 
     public void sendEvent(String clientId, String eventType, Object data) {
-        if (!emitters.containsKey(clientId)) return;
-        SseEmitterData emitterData = emitters.get(clientId);
+        SseReplayBuffer stream = streams.get(clientId);
+        if (stream == null) return;
+        stream.lock();
         try {
-            emitterData.getEmitter().send(SseEmitter.event().name(eventType).data(data));
-            emitterData.updateLastEventTime();
-        } catch (Exception e) {
-            removeEmitter(clientId);
+            SseEvent event = stream.append(eventType, data);
+            SseEmitterData emitterData = emitters.get(clientId);
+            if (emitterData != null) enqueue(clientId, emitterData, event);
+        } finally {
+            stream.unlock();
         }
     }
 
+    public int getQueueDepth(String clientId) {
+        SseEmitterData emitterData = emitters.get(clientId);
+        return emitterData == null ? 0 : emitterData.getOutbound().size();
+    }
+
     public void removeEmitter(String clientId) {
+        SseEmitterData emitterData = emitters.get(clientId);
+        if (emitterData != null) removeEmitter(clientId, emitterData);
+    }
+
+    /**
+     * 지정한 emitter가 아직 등록된 경우에만 제거합니다.
+     * 재연결 후 이전 emitter의 완료 콜백이 새 emitter를 지우지 않도록 하기 위함입니다.
+     */
+    private void removeEmitter(String clientId, SseEmitterData emitterData) {
+        if (!emitters.remove(clientId, emitterData)) return;
+        heartbeatWheel.remove(emitterData);
+        emitterData.getOutbound().close();
+        emitterData.getMeters().close();
         try {
-            if (!emitters.containsKey(clientId)) return;
-            SseEmitterData emitterData = emitters.get(clientId);
             emitterData.getEmitter().complete();
-        } catch (Exception e) { /* 로그 처리 필요 */ }
-        finally { emitters.remove(clientId); }
+        } catch (Exception e) {
+            log.debug("SSE emitter 종료 실패 - clientId={}", clientId, e);
+        }
+        try {
+            emitterData.getOnRemove().run();
+        } catch (Exception e) {
+            log.error("SSE emitter 제거 콜백 실패 - clientId={}", clientId, e);
+        }
+    }
+
+    /**
+     * 연결이 끊긴 스트림은 유예 시간 동안 재연결을 기다렸다가 끝냅니다.
+     */
+    private void detach(String clientId, SseReplayBuffer stream) {
+        stream.lock();
+        try {
+            stream.detach(Mono.delay(Duration.ofMillis(replayProperties.gracePeriod()))
+                    .subscribe(tick -> expire(clientId, stream)));
+        } finally {
+            stream.unlock();
+        }
+    }
+
+    private void expire(String clientId, SseReplayBuffer stream) {
+        stream.lock();
+        try {
+            if (streams.get(clientId) == stream) {
+                // 유예 중에 재연결되었으면 그대로 둠
+                if (!stream.isDetached()) return;
+                streams.remove(clientId, stream);
+            }
+            if (!stream.markExpired()) return;
+        } finally {
+            stream.unlock();
+        }
+        try {
+            stream.expire();
+        } catch (Exception e) {
+            log.error("SSE 스트림 종료 콜백 실패 - clientId={}", clientId, e);
+        }
+    }
+
+    @PostConstruct
+    void startHeartbeats() {
+        heartbeatTicker.scheduleAtFixedRate(this::sendHeartbeats, heartbeatTick, heartbeatTick, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stopHeartbeats() {
+        heartbeatTicker.shutdownNow();
+    }
+
+    /**
+     * 타이머 휠을 한 칸 돌려, 그 슬롯에서 interval 동안 쓴 것이 없는 연결에 하트비트를 넣습니다.
+     * 전송 큐에 보낼 이벤트가 남아 있으면 곧 쓰기가 일어나므로 넣지 않습니다.
+     */
+    void sendHeartbeats() {
+        try {
+            heartbeatWheel.advance(emitterData -> {
+                if (emitterData.isSilentFor(heartbeatIntervalNanos) && emitterData.getOutbound().size() == 0) {
+                    emitterData.getOutbound().offer(SseEvent.HEARTBEAT);
+                    heartbeatsSent.increment();
+                }
+            });
+        } catch (RuntimeException e) {
+            // 예외가 밖으로 나가면 scheduleAtFixedRate가 이후 실행을 멈추므로 여기서 끊음
+            log.error("SSE 하트비트 전송 실패", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${sse.reaper.interval}")
+    public void reapIdleEmitters() {
+        Instant threshold = Instant.now().minusMillis(reaperProperties.idleTimeout());
+        emitters.forEach((clientId, emitterData) -> {
+            if (emitterData.isIdleSince(threshold)) {
+                removeEmitter(clientId, emitterData);
+                reaped.increment();
+            }
+        });
+        evictLeastRecentlyActive(reaperProperties.maxEmitters());
+    }
+
+    private void evictLeastRecentlyActive(int limit) {
+        int overflow = emitters.size() - limit;
+        if (overflow <= 0) return;
+
+        // 정렬 도중 lastEventTime이 바뀌지 않도록 시점을 고정해서 비교
+        emitters.entrySet().stream()
+                .map(entry -> new Activity(entry.getKey(), entry.getValue(), entry.getValue().getLastEventTime()))
+                .sorted(Comparator.comparing(Activity::lastEventTime))
+                .limit(overflow)
+                .toList()
+                .forEach(activity -> {
+                    removeEmitter(activity.clientId(), activity.emitterData());
+                    reaped.increment();
+                });
+    }
+
+    private record Activity(String clientId, SseEmitterData emitterData, Instant lastEventTime) {
     }
-}
 
+    private void enqueue(String clientId, SseEmitterData emitterData, SseEvent event) {
+        SseOutboundQueue outbound = emitterData.getOutbound();
+        SseOutboundQueue.OfferResult result = outbound.offer(event);
+        queueDepth.record(outbound.size());
+
+        if (result == SseOutboundQueue.OfferResult.ENQUEUED) return;
+        overflows.get(result).increment();
+        if (result == SseOutboundQueue.OfferResult.REJECTED) {
+            log.warn("SSE 전송 큐 초과로 연결 종료 - clientId={}", clientId);
+            removeEmitter(clientId, emitterData);
+        }
+    }
+
+    private void drain(String clientId, SseEmitterData emitterData) {
+        SseOutboundQueue outbound = emitterData.getOutbound();
+        SseEvent event = null;
+        try {
+            while ((event = outbound.take()) != null) {
+                if (event.isHeartbeat()) {
+                    // 하트비트는 유휴 정리 기준(lastEventTime)을 갱신하지 않음
+                    emitterData.getEmitter().send(SseEmitter.event().comment("heartbeat"));
+                    emitterData.markWritten();
+                    continue;
+                }
+                long start = System.nanoTime();
+                SseEmitter.SseEventBuilder builder = SseEmitter.event().name(event.name()).data(event.data());
+                if (event.id() > 0) builder.id(Long.toString(event.id()));
+                emitterData.getEmitter().send(builder);
+                long elapsed = System.nanoTime() - start;
+                sendLatency.record(elapsed, TimeUnit.NANOSECONDS);
+                emitterData.getMeters().recordSend(elapsed);
+                emitterData.updateLastEventTime();
+                emitterData.markWritten();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            if (event != null && event.isHeartbeat()) {
+                heartbeatFailures.increment();
+            }
+            removeEmitter(clientId, emitterData);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.together.server.application.sse;
+
+/**
+ * 클라이언트에게 전송 대기 중인 SSE 이벤트입니다.
+ * id는 클라이언트 스트림 안에서 1부터 증가하며, 재연결 시 Last-Event-ID로 돌려받습니다. 0이면 번호 없이 전송합니다.
+ */
+public record SseEvent(long id, String name, Object data) {
+
+    private static final String STREAM_CHAT = "stream_chat";
+
+    /**
+     * 연결 유지용 SSE 주석(": heartbeat")입니다. 클라이언트에는 이벤트로 전달되지 않습니다.
+     */
+    public static final SseEvent HEARTBEAT = new SseEvent(0, "heartbeat", null);
+
+    public SseEvent(String name, Object data) {
+        this(0, name, data);
+    }
+
+    public boolean isHeartbeat() {
+        return this == HEARTBEAT;
+    }
+
+    public boolean isStreamChunk() {
+        return STREAM_CHAT.equals(name) && data instanceof String;
+    }
+
+    /**
+     * 이어지는 스트림 조각을 하나로 합칩니다. 번호는 뒤 조각을 따르므로 클라이언트는 합쳐진 조각까지 받은 것으로 기록합니다.
+     */
+    public SseEvent merge(SseEvent next) {
+        return new SseEvent(next.id(), name, (String) data + next.data());
+    }
+}
@@ -0,0 +1,48 @@
+package com.together.server.application.sse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * 연결을 해시로 슬롯에 나눠 담고, tick마다 한 슬롯씩만 확인하는 타이머 휠입니다.
+ * 연결마다 예약 작업을 만들지 않고 등록 시 슬롯에 한 번 넣어 두기만 하므로,
+ * 연결 수와 관계없이 타이머는 하나이고 tick 한 번에 전체 연결의 1/슬롯 수만 확인합니다.
+ * 휠이 한 바퀴 도는 시간이 interval이므로 각 연결은 interval마다 한 번씩 확인됩니다.
+ */
+class SseHeartbeatWheel {
+
+    private final List<Set<SseEmitterData>> slots;
+    private int cursor;
+
+    SseHeartbeatWheel(long interval, long tick) {
+        int size = (int) Math.max(1, (interval + tick - 1) / tick);
+        this.slots = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            slots.add(ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    void add(SseEmitterData emitterData) {
+        slotOf(emitterData).add(emitterData);
+    }
+
+    void remove(SseEmitterData emitterData) {
+        slotOf(emitterData).remove(emitterData);
+    }
+
+    /**
+     * 다음 슬롯으로 이동해 그 슬롯의 연결을 확인합니다. 하트비트 전용 스레드 하나에서만 호출합니다.
+     */
+    void advance(Consumer<SseEmitterData> action) {
+        cursor = (cursor + 1) % slots.size();
+        slots.get(cursor).forEach(action);
+    }
+
+    private Set<SseEmitterData> slotOf(SseEmitterData emitterData) {
+        int hash = System.identityHashCode(emitterData);
+        return slots.get(Math.floorMod(hash ^ (hash >>> 16), slots.size()));
+    }
+}
@@ -0,0 +1,102 @@
+package com.together.server.application.sse;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 클라이언트 한 명의 전송 대기 이벤트를 담는 고정 크기 큐입니다.
+ * 생산자(채팅 스트림 등)는 offer로 즉시 반환되고, 연결별 가상 스레드 하나가 take로 꺼내 전송합니다.
+ * 가상 스레드가 캐리어 스레드에 고정되지 않도록 synchronized 대신 ReentrantLock을 사용합니다.
+ */
+public class SseOutboundQueue {
+
+    public enum OfferResult {
+        ENQUEUED, COALESCED, DROPPED_OLDEST, REJECTED
+    }
+
+    private final int capacity;
+    private final OverflowPolicy overflowPolicy;
+    private final Deque<SseEvent> events = new ArrayDeque<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private boolean closed;
+
+    public SseOutboundQueue(int capacity, OverflowPolicy overflowPolicy) {
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    public OfferResult offer(SseEvent event) {
+        lock.lock();
+        try {
+            if (closed) {
+                return OfferResult.REJECTED;
+            }
+
+            OfferResult result = OfferResult.ENQUEUED;
+            if (events.size() >= capacity) {
+                if (overflowPolicy == OverflowPolicy.DISCONNECT) {
+                    return OfferResult.REJECTED;
+                }
+                if (overflowPolicy == OverflowPolicy.COALESCE && tryCoalesce(event)) {
+                    return OfferResult.COALESCED;
+                }
+                events.pollFirst();
+                result = OfferResult.DROPPED_OLDEST;
+            }
+
+            events.addLast(event);
+            notEmpty.signal();
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean tryCoalesce(SseEvent event) {
+        SseEvent last = events.peekLast();
+        if (last == null || !last.isStreamChunk() || !event.isStreamChunk()) {
+            return false;
+        }
+        events.pollLast();
+        events.addLast(last.merge(event));
+        return true;
+    }
+
+    /**
+     * 이벤트가 들어올 때까지 대기합니다. 큐가 닫히면 null을 반환합니다.
+     */
+    public SseEvent take() throws InterruptedException {
+        lock.lock();
+        try {
+            while (events.isEmpty() && !closed) {
+                notEmpty.await();
+            }
+            return closed ? null : events.pollFirst();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return events.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            events.clear();
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
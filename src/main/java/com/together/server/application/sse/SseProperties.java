@@ -0,0 +1,45 @@
+package com.together.server.application.sse;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "sse")
+public record SseProperties(
+        Outbound outbound,
+        Reaper reaper,
+        Coalesce coalesce,
+        Replay replay,
+        Heartbeat heartbeat
+) {
+
+    public record Outbound(
+            int queueCapacity,
+            OverflowPolicy overflowPolicy
+    ) {
+    }
+
+    public record Reaper(
+            long interval,
+            long idleTimeout,
+            int maxEmitters
+    ) {
+    }
+
+    public record Coalesce(
+            long maxLatency,
+            int maxBytes,
+            long maxBackoffLatency
+    ) {
+    }
+
+    public record Replay(
+            int capacity,
+            long gracePeriod
+    ) {
+    }
+
+    public record Heartbeat(
+            long interval,
+            long tick
+    ) {
+    }
+}
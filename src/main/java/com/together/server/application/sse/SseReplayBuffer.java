@@ -0,0 +1,144 @@
+package com.together.server.application.sse;
+
+import reactor.core.Disposable;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * 클라이언트 하나의 이벤트 스트림에 번호를 매기고 최근 이벤트를 보관하는 고정 크기 링 버퍼입니다.
+ * 슬롯 배열은 생성 시 한 번만 할당하고, 전송 큐에 넣는 SseEvent를 그대로 슬롯에 보관합니다.
+ * 이벤트마다 SseEvent 하나만 만들어지며, 재연결 시 다시 보낼 때는 보관한 객체를 그대로 넣으므로 새로 할당하지 않습니다.
+ * 연결이 끊긴 뒤에도 재연결 유예 시간 동안 유지되며, 그동안 보낸 이벤트도 계속 쌓입니다.
+ * 번호 부여와 전송 큐 적재 순서가 어긋나지 않도록 SseEmitterService는 lock()/unlock()으로 여러 호출을 묶습니다.
+ * 잠금을 쥔 채 가상 스레드가 캐리어 스레드에 고정되지 않도록 synchronized 대신 ReentrantLock을 사용합니다.
+ */
+class SseReplayBuffer {
+
+    private final SseEvent[] events;
+    private final int mask;
+    private final Runnable onExpire;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long lastId;
+    private volatile Disposable expiry;
+    private boolean expired;
+
+    SseReplayBuffer(int capacity, Runnable onExpire) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.events = new SseEvent[size];
+        this.mask = size - 1;
+        this.onExpire = onExpire;
+    }
+
+    void lock() {
+        lock.lock();
+    }
+
+    void unlock() {
+        lock.unlock();
+    }
+
+    /**
+     * 다음 번호를 붙여 이벤트를 보관하고, 전송할 이벤트를 돌려줍니다.
+     */
+    SseEvent append(String name, Object payload) {
+        lock.lock();
+        try {
+            SseEvent event = new SseEvent(++lastId, name, payload);
+            events[(int) (event.id() & mask)] = event;
+            return event;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 클라이언트가 마지막으로 받았다고 알려준 번호가 이 스트림에서 보낸 번호인지 확인합니다.
+     */
+    boolean canResumeFrom(long afterId) {
+        lock.lock();
+        try {
+            return afterId >= 0 && afterId <= lastId;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * afterId 다음 이벤트부터 보관 중인 이벤트를 순서대로 전달하고, 전달한 개수를 반환합니다.
+     * 놓친 이벤트 일부가 이미 덮어써졌으면 남아 있는 것만 전달합니다.
+     */
+    int replayAfter(long afterId, Consumer<SseEvent> sink) {
+        lock.lock();
+        try {
+            long from = Math.max(afterId + 1, oldestId());
+            for (long id = from; id <= lastId; id++) {
+                sink.accept(events[(int) (id & mask)]);
+            }
+            return (int) Math.max(0, lastId - from + 1);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * afterId 다음 이벤트 중 일부가 이미 덮어써졌는지 확인합니다.
+     */
+    boolean isOverrun(long afterId) {
+        lock.lock();
+        try {
+            return afterId + 1 < oldestId();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long oldestId() {
+        return Math.max(1, lastId - mask);
+    }
+
+    void attach() {
+        Disposable timer = expiry;
+        expiry = null;
+        if (timer != null) {
+            timer.dispose();
+        }
+    }
+
+    /**
+     * 연결이 끊긴 상태로 표시하고, 유예 시간이 지나면 스트림을 끝낼 타이머를 등록합니다.
+     */
+    void detach(Disposable expiryTimer) {
+        Disposable previous = expiry;
+        expiry = expiryTimer;
+        if (previous != null) {
+            previous.dispose();
+        }
+    }
+
+    boolean isDetached() {
+        return expiry != null;
+    }
+
+    /**
+     * 스트림을 끝난 상태로 표시합니다. 이미 끝났으면 false를 반환합니다.
+     */
+    boolean markExpired() {
+        lock.lock();
+        try {
+            if (expired) return false;
+            expired = true;
+            Disposable timer = expiry;
+            if (timer != null) {
+                timer.dispose();
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void expire() {
+        onExpire.run();
+    }
+}
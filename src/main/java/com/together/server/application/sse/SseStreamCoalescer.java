@@ -0,0 +1,154 @@
+package com.together.server.application.sse;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 토큰 단위로 도착하는 LLM 스트림 조각을 묶어 SSE 프레임 수를 줄이는 연산자입니다.
+ * 한국어 응답은 거의 모든 토큰이 공백으로 끝나 조각마다 프레임을 보내면 전송 횟수가 토큰 수만큼 늘어나므로,
+ * 버퍼에 모았다가 아래 조건 중 하나를 만족할 때 한 프레임으로 보냅니다.
+ * - 첫 조각: 첫 응답까지의 시간이 늘지 않도록 바로 전송
+ * - 문장/마크다운 경계: 문장 끝(. ! ? 등)이나 줄바꿈으로 끝날 때
+ * - 크기: 버퍼가 sse.coalesce.max-bytes(UTF-8 기준) 이상일 때
+ * - 시간: 버퍼의 첫 조각이 들어온 뒤 sse.coalesce.max-latency가 지났을 때
+ * 클라이언트 전송 큐에 이벤트가 밀려 있으면(소비가 느리면) 경계 전송을 멈추고
+ * 대기 시간을 밀린 개수에 비례해 sse.coalesce.max-backoff-latency까지 늘려 더 큰 프레임으로 보냅니다.
+ * 응답 하나당 보낸 프레임 수는 sse.stream.frames 메트릭으로 확인할 수 있습니다.
+ */
+@Component
+public class SseStreamCoalescer {
+
+    private final SseEmitterService sseEmitterService;
+    private final SseProperties.Coalesce properties;
+    private final MeterRegistry meterRegistry;
+    private final Scheduler timer = Schedulers.parallel();
+
+    public SseStreamCoalescer(SseEmitterService sseEmitterService, SseProperties properties, MeterRegistry meterRegistry) {
+        this.sseEmitterService = sseEmitterService;
+        this.properties = properties.coalesce();
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @param clientId 전송 큐 길이를 확인할 SSE 클라이언트
+     * @param stream   메트릭 태그로 쓸 스트림 종류 (chat, smishing 등)
+     */
+    public Flux<String> coalesce(String clientId, String stream, Flux<String> chunks) {
+        DistributionSummary frames = DistributionSummary.builder("sse.stream.frames")
+                .description("LLM 응답 하나를 보내는 데 사용한 SSE 프레임 수")
+                .tag("stream", stream)
+                .register(meterRegistry);
+
+        return Flux.create(sink -> {
+            Frame frame = new Frame(clientId, sink, frames);
+            Disposable upstream = chunks.subscribe(frame::append, frame::error, frame::complete);
+            sink.onDispose(() -> {
+                upstream.dispose();
+                frame.cancelTimer();
+            });
+        });
+    }
+
+    private class Frame {
+
+        private final String clientId;
+        private final FluxSink<String> sink;
+        private final DistributionSummary frames;
+        private final StringBuilder buffer = new StringBuilder();
+        private int bufferedBytes;
+        private int sentFrames;
+        private boolean first = true;
+        private Disposable pendingFlush;
+
+        Frame(String clientId, FluxSink<String> sink, DistributionSummary frames) {
+            this.clientId = clientId;
+            this.sink = sink;
+            this.frames = frames;
+        }
+
+        synchronized void append(String chunk) {
+            if (chunk.isEmpty()) return;
+            buffer.append(chunk);
+            bufferedBytes += utf8Length(chunk);
+
+            int backlog = sseEmitterService.getQueueDepth(clientId);
+            if (first || bufferedBytes >= properties.maxBytes() || (backlog == 0 && endsAtBoundary(chunk))) {
+                first = false;
+                flush();
+            } else if (pendingFlush == null) {
+                long delay = Math.min(properties.maxLatency() * (1L + backlog), properties.maxBackoffLatency());
+                pendingFlush = timer.schedule(this::flushByTimer, delay, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        synchronized void error(Throwable error) {
+            flush();
+            frames.record(sentFrames);
+            sink.error(error);
+        }
+
+        synchronized void complete() {
+            flush();
+            frames.record(sentFrames);
+            sink.complete();
+        }
+
+        synchronized void cancelTimer() {
+            if (pendingFlush != null) {
+                pendingFlush.dispose();
+                pendingFlush = null;
+            }
+        }
+
+        private synchronized void flushByTimer() {
+            pendingFlush = null;
+            flush();
+        }
+
+        private void flush() {
+            cancelTimer();
+            if (buffer.isEmpty()) return;
+            String data = buffer.toString();
+            buffer.setLength(0);
+            bufferedBytes = 0;
+            sentFrames++;
+            sink.next(data);
+        }
+    }
+
+    private static boolean endsAtBoundary(String chunk) {
+        String trimmed = chunk.stripTrailing();
+        if (trimmed.length() < chunk.length() && chunk.indexOf('\n', trimmed.length()) >= 0) {
+            return true; // 줄바꿈 (마크다운 목록/제목 포함)
+        }
+        if (trimmed.isEmpty()) return false;
+        char last = trimmed.charAt(trimmed.length() - 1);
+        return last == '.' || last == '!' || last == '?' || last == '…' || last == '。';
+    }
+
+    private static int utf8Length(String text) {
+        int bytes = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+}
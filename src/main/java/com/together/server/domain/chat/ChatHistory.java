@@ -0,0 +1,91 @@
+package com.together.server.domain.chat;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * 토큰 예산 안에서 대화 기록을 보관하는 저장소입니다.
+ * - 최근 메시지는 tokenBudget 안에서 원문 그대로 유지 (가장 최근 메시지는 예산을 넘어도 유지)
+ * - 예산을 넘긴 오래된 메시지는 앞부분만 남긴 한 줄 요약으로 접어 summaryTokenBudget 안에서 보관
+ * 따라서 대화가 길어져도 프롬프트 크기와 메모리 사용량이 일정하게 유지됩니다.
+ * 기록 추가와 프롬프트 생성은 모두 세션 메일박스(ChatMailbox)의 턴 안에서 한 번에 하나씩만 실행되므로 락을 두지 않습니다.
+ * 다른 스레드(메트릭 수집)에서 읽는 값은 retainedBytes뿐이며 volatile로 공개합니다.
+ */
+public class ChatHistory {
+
+    private static final String SUMMARY_HEADER = "이전 대화 요약:";
+    private static final String SUMMARY_ROLE = "system";
+    private static final int SUMMARY_LINE_LENGTH = 60;
+
+    private final int tokenBudget;
+    private final int summaryTokenBudget;
+    private final Deque<ChatMessage> recent = new ArrayDeque<>();
+    private final Deque<String> summary = new ArrayDeque<>();
+    private int recentTokens;
+    private int summaryTokens;
+    private volatile long retainedBytes;
+
+    public ChatHistory(int tokenBudget, int summaryTokenBudget) {
+        this.tokenBudget = tokenBudget;
+        this.summaryTokenBudget = summaryTokenBudget;
+    }
+
+    public void add(ChatMessage message) {
+        recent.addLast(message);
+        recentTokens += TokenEstimator.estimate(message);
+
+        while (recentTokens > tokenBudget && recent.size() > 1) {
+            ChatMessage oldest = recent.pollFirst();
+            recentTokens -= TokenEstimator.estimate(oldest);
+            fold(oldest);
+        }
+        retainedBytes = calculateRetainedBytes();
+    }
+
+    /**
+     * 프롬프트에 넣을 메시지 목록을 반환합니다. 요약이 있으면 system 메시지로 맨 앞에 위치합니다.
+     */
+    public List<ChatMessage> toPromptMessages() {
+        List<ChatMessage> messages = new ArrayList<>(recent.size() + 1);
+        if (!summary.isEmpty()) {
+            messages.add(new ChatMessage(SUMMARY_ROLE, SUMMARY_HEADER + "\n" + String.join("\n", summary)));
+        }
+        messages.addAll(recent);
+        return messages;
+    }
+
+    public long getRetainedBytes() {
+        return retainedBytes;
+    }
+
+    private void fold(ChatMessage message) {
+        String line = "- " + message.getSender() + ": " + abbreviate(message.getContent());
+        summary.addLast(line);
+        summaryTokens += TokenEstimator.estimate(line);
+
+        while (summaryTokens > summaryTokenBudget && !summary.isEmpty()) {
+            summaryTokens -= TokenEstimator.estimate(summary.pollFirst());
+        }
+    }
+
+    private String abbreviate(String content) {
+        String singleLine = content.replaceAll("\\s+", " ").trim();
+        if (singleLine.length() <= SUMMARY_LINE_LENGTH) {
+            return singleLine;
+        }
+        return singleLine.substring(0, SUMMARY_LINE_LENGTH) + "…";
+    }
+
+    private long calculateRetainedBytes() {
+        long chars = 0;
+        for (ChatMessage message : recent) {
+            chars += message.getSender().length() + message.getContent().length();
+        }
+        for (String line : summary) {
+            chars += line.length();
+        }
+        return chars * Character.BYTES;
+    }
+}
@@ -0,0 +1,75 @@
+package com.together.server.domain.chat;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 세션 하나로 들어온 메시지를 도착 순서대로 하나씩 처리하는 단일 소비자 메일박스입니다.
+ * 같은 사용자의 요청이 여러 요청 스레드에서 동시에 들어와도 대화 기록과 조건은 한 번에 한 턴만 변경하므로 락이 필요 없습니다.
+ * - 메시지는 크기가 제한된 큐에 쌓이고, 큐가 가득 차면 offer가 false를 반환 (호출하는 쪽에서 거절 응답)
+ * - 처리 차례가 왔을 때 뒤에 들어온 메시지가 이미 있으면 superseded=true로 전달해, 기록만 남기고 답변은 생략할 수 있게 함
+ * - 소비자는 스레드를 점유하지 않는 Reactor 구독이라 세션 수만큼 스레드가 늘지 않음
+ */
+@Slf4j
+public class ChatMailbox {
+
+    @FunctionalInterface
+    public interface Handler {
+        Mono<Void> handle(boolean superseded);
+    }
+
+    private record Envelope(long sequence, Handler handler) {
+    }
+
+    private static final Duration NON_SERIALIZED_RETRY = Duration.ofMillis(100);
+
+    private final Sinks.Many<Envelope> inbox;
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong latestAccepted = new AtomicLong();
+    private final Disposable consumer;
+
+    public ChatMailbox(int capacity) {
+        this.inbox = Sinks.many().unicast().onBackpressureBuffer(new ArrayBlockingQueue<>(capacity));
+        // 요청 스레드가 큐에 넣자마자 반환되도록 처리는 별도 스케줄러에서 시작
+        this.consumer = inbox.asFlux()
+                .publishOn(Schedulers.boundedElastic(), 1)
+                .concatMap(envelope -> Mono.defer(() -> envelope.handler().handle(envelope.sequence() < latestAccepted.get()))
+                        .onErrorResume(e -> {
+                            log.error("채팅 메시지 처리 실패", e);
+                            return Mono.empty();
+                        }), 0)
+                .subscribe();
+    }
+
+    /**
+     * @return 큐가 가득 찼거나, 메일박스가 닫혔거나, 동시에 넣는 요청과 계속 겹쳤으면 false
+     */
+    public boolean offer(Handler handler) {
+        Envelope envelope = new Envelope(sequence.incrementAndGet(), handler);
+        // 다른 요청 스레드가 넣는 중(FAIL_NON_SERIALIZED)이면 NON_SERIALIZED_RETRY 동안만 다시 시도하고, 그 뒤에는 거절
+        Sinks.EmitFailureHandler retry = Sinks.EmitFailureHandler.busyLooping(NON_SERIALIZED_RETRY);
+        Sinks.EmitResult result;
+        do {
+            result = inbox.tryEmitNext(envelope);
+        } while (!result.isSuccess() && retry.onEmitFailure(SignalType.ON_NEXT, result));
+
+        if (result.isSuccess()) {
+            latestAccepted.accumulateAndGet(envelope.sequence(), Math::max);
+            return true;
+        }
+        return false;
+    }
+
+    public void close() {
+        inbox.tryEmitComplete();
+        consumer.dispose();
+    }
+}
@@ -1,38 +1,94 @@
 package com.together.server.domain.chat;
 
 import com.together.server.domain.plan.SmartChoicePlan;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
-import java.util.Queue;
-import java.util.LinkedList;
+import reactor.core.Disposable;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
+@Slf4j
 @Getter
 public class ChatSession {
     private final String userId;
-    private final SseEmitter emitter;
-    private final Queue<ChatMessage> messages;
+    private volatile SseEmitter emitter;
+    private final ChatHistory history;
     private final Map<String, String> userCondition;
+    private final ChatMailbox mailbox;
+    @Getter(AccessLevel.NONE)
+    private final AtomicReference<Disposable> activeTurn = new AtomicReference<>();
 
     @Setter
     private SmartChoicePlan recommendedPlan;
 
-    public ChatSession(String userId, SseEmitter emitter) {
+    /**
+     * 마지막으로 보낸 후속 질문, 다음 답변이 어떤 항목에 대한 것인지 판단하는 데 사용합니다.
+     */
+    @Setter
+    private volatile String lastQuestion;
+
+    public ChatSession(String userId, ChatHistory history, ChatMailbox mailbox) {
         this.userId = userId;
-        this.emitter = emitter;
-        this.messages = new LinkedList<>();
+        this.history = history;
         this.userCondition = new ConcurrentHashMap<>();
+        this.mailbox = mailbox;
+    }
+
+    /**
+     * 세션에 emitter를 연결합니다. Last-Event-ID로 재연결하면 같은 세션에 새 emitter가 연결됩니다.
+     */
+    public void attach(SseEmitter emitter) {
+        this.emitter = emitter;
     }
 
     public void addMessage(ChatMessage message) {
-        System.out.println("[채팅 메시지 저장] " + message.getSender() + ": " + message.getContent());
-        messages.add(message);
+        log.debug("[채팅 메시지 저장] userId={}, sender={}, length={}",
+                userId, message.getSender(), message.getContent().length());
+        history.add(message);
     }
 
 
     public void setCondition(String key, String value) {
         userCondition.put(key, value);
     }
+
+    /**
+     * 진행 중인 응답 턴을 새 턴으로 바꾸고 이전 턴을 돌려줍니다. 이전 턴의 취소는 호출하는 쪽에서 합니다.
+     */
+    public Disposable replaceActiveTurn(Disposable turn) {
+        return activeTurn.getAndSet(turn);
+    }
+
+    public Disposable getActiveTurn() {
+        return activeTurn.get();
+    }
+
+    /**
+     * 진행 중인 턴이 아직 expected일 때만 비웁니다. 그사이 다른 턴으로 바뀌었으면 그대로 두고 false를 반환합니다.
+     */
+    public boolean clearActiveTurn(Disposable expected) {
+        return activeTurn.compareAndSet(expected, null);
+    }
+
+    /**
+     * 세션이 종료될 때 진행 중인 응답 파이프라인(OpenAI 호출 등)을 취소하고 메일박스를 닫습니다.
+     */
+    public void close() {
+        Disposable turn = activeTurn.getAndSet(null);
+        if (turn != null) {
+            turn.dispose();
+        }
+        mailbox.close();
+    }
+
+    /**
+     * 세션이 보관 중인 대화 내용의 대략적인 힙 사용량(문자열 본문 기준)입니다.
+     */
+    public long getRetainedBytes() {
+        return history.getRetainedBytes();
+    }
 }
@@ -0,0 +1,330 @@
+package com.together.server.domain.chat;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 요금제 추천용 답변("하루 삼십 분", "한 시간 반 정도요", "5G", "일흔다섯 살")에서 사용 조건을 로컬로 추출합니다.
+ * 결과 형식은 OpenAiChatClient.parseConditionJson과 같습니다 (voice: 월 분, data: 월 MB, sms: 월 건, age: 나이, type: 2/3/6).
+ * - 숫자: 아라비아 숫자, 한자어 수(삼십오), 고유어 수(스물다섯, 한/두/세), "반"
+ * - 기간: 하루/매일, 일주일/매주, 한 달/매달/월 (없으면 시간·건수는 하루, GB/MB는 한 달 기준)
+ * - 데이터 사용 시간은 1시간에 300MB로 환산
+ * 숫자가 어떤 항목인지 답변이나 직전 질문으로 정할 수 없으면 추출하지 않고 빈 값을 반환하므로, 호출하는 쪽에서 LLM으로 넘기면 됩니다.
+ * 범위("두세 시간", "서너 건"), 모르겠다는 답, 부정문 속 수량("두 시간 이상은 안 봐요")도 빈 값으로 넘깁니다.
+ * 답변 예시와 기대 결과는 src/test/resources/chat/condition-corpus.csv에 있습니다.
+ */
+public final class KoreanConditionParser {
+
+    static final String UNLIMITED = "999999";
+
+    private static final int MB_PER_HOUR = 300;
+    private static final int MB_PER_GB = 1000;
+    private static final double DAYS_PER_MONTH = 30;
+    private static final double WEEKS_PER_MONTH = 30 / 7.0;
+
+    // 한글 수사는 앞 글자가 한글이 아닐 때만 숫자로 봄 ("이건"의 "이", "하루세"의 "세" 제외)
+    // 한 글자 한자어 수(일/이/삼...)는 뒤에 띄어쓰기가 있을 때만 인정 ("일대일", "이건" 제외)
+    private static final String NUMBER =
+            "(\\d+(?:\\.\\d+)?"
+                    + "|(?<![가-힣])(?:(?:열|스물|스무|서른|마흔|쉰|예순|일흔|여든|아흔)\\s?(?:하나|한|둘|두|셋|세|넷|네|다섯|여섯|일곱|여덟|아홉)?"
+                    + "|[일이삼사오육칠팔구십백천만]{2,}"
+                    + "|[일이삼사오육칠팔구십백천만](?=\\s)"
+                    + "|하나|한|둘|두|셋|세|넷|네|다섯|여섯|일곱|여덟|아홉|반))";
+    private static final String END_OF_AGE = "(?=$|[^가-힣]|요|예요|이에요|입니다|이고|고|인데|이요)";
+    private static final Pattern QUANTITY = Pattern.compile(
+            NUMBER + "\\s*(시간\\s*반|시간|분|건|개(?!월)|통(?!화|신)|기가바이트|기가|gb|메가|mb|세" + END_OF_AGE + "|살)");
+    // "대"는 십 단위 수 뒤에서만 연령대로 봄 ("20대", "삼십대", "스무 대"는 인정, "일대일", "두 대"는 제외)
+    private static final Pattern AGE_DECADE = Pattern.compile(
+            "(?<![가-힣\\d])(\\d0|[이삼사오육칠팔구]십|스물|스무|서른|마흔|쉰|예순|일흔|여든|아흔)\\s*대" + END_OF_AGE);
+    private static final Pattern RANGE = Pattern.compile(
+            "(?<![가-힣])(한두|두세|두서너|서너|너덧|네다섯|대여섯|예닐곱|일여덟)|\\d+\\s*[~-]\\s*\\d+");
+    private static final Pattern UNSURE = Pattern.compile("모르|몰라|글쎄|기억이?\\s?안|잘\\s?몰");
+    private static final int MIN_AGE = 10;
+    private static final Pattern BARE_NUMBER = Pattern.compile(
+            "^\\s*(?:하루|매일|한\\s?달|매달|월|일주일|매주)?\\s*(?:에|에는)?\\s*" + NUMBER + "\\s*(?:정도|쯤|이요|요)?\\s*[.!~]*\\s*$");
+
+    // "네"(대답), "한"·"두"·"세"·"반"은 단독으로 쓰이면 숫자인지 알 수 없음
+    private static final Set<String> AMBIGUOUS_WORDS = Set.of("네", "한", "두", "세", "반");
+
+    private static final Pattern DAILY = Pattern.compile("하루|매일|날마다|일일");
+    private static final Pattern WEEKLY = Pattern.compile("일주일|매주|한\\s?주");
+    private static final Pattern MONTHLY = Pattern.compile("한\\s?달|매달|달에|월\\s?\\d|월에|한달");
+
+    private static final Pattern VOICE_WORDS = Pattern.compile("통화|전화");
+    private static final Pattern DATA_WORDS = Pattern.compile("유튜브|인터넷|데이터|영상|검색|카톡|넷플릭스|와이파이");
+    private static final Pattern SMS_WORDS = Pattern.compile("문자|메시지|메세지");
+    private static final Pattern AGE_WORDS = Pattern.compile("나이|연세|연령|살");
+    private static final Pattern TYPE_WORDS = Pattern.compile("통신망|lte|5g|3g|휴대폰|핸드폰|폰");
+    private static final Pattern NONE = Pattern.compile("안\\s?(해|써|보내|봐|함)|거의\\s?안|없어|없음|전혀");
+
+    private KoreanConditionParser() {
+    }
+
+    /**
+     * @param reply        사용자의 답변
+     * @param lastQuestion 직전에 보낸 질문 (없으면 null), 답변만으로 항목을 정할 수 없을 때 사용
+     * @return 확신할 수 있을 때만 추출 결과, 아니면 빈 값
+     */
+    public static Optional<Map<String, String>> parse(String reply, String lastQuestion) {
+        if (reply == null || reply.isBlank()) {
+            return Optional.empty();
+        }
+
+        String text = reply.toLowerCase();
+        if (UNSURE.matcher(text).find() || RANGE.matcher(text).find()) {
+            return Optional.empty();
+        }
+        Map<String, String> result = new HashMap<>();
+
+        String network = network(text);
+        if (network != null) {
+            result.put("type", network);
+        }
+        String ageGroup = ageGroup(text);
+        if (ageGroup != null) {
+            result.put("age", ageGroup);
+        }
+
+        String topic = topicOf(text);
+        if (topic == null && lastQuestion != null) {
+            topic = topicOf(lastQuestion.toLowerCase());
+        }
+
+        boolean negated = NONE.matcher(text).find();
+        boolean foundQuantity = false;
+
+        Matcher decade = AGE_DECADE.matcher(text);
+        while (decade.find()) {
+            foundQuantity = true;
+            Double amount = parseNumber(decade.group(1));
+            if (negated || amount == null || !assign(result, "대", amount, Period.UNSPECIFIED, topic)) {
+                return Optional.empty();
+            }
+        }
+        String rest = decade.replaceAll(" ");
+
+        Period period = periodOf(rest);
+        Matcher quantity = QUANTITY.matcher(rest);
+        while (quantity.find()) {
+            foundQuantity = true;
+            Double amount = parseNumber(quantity.group(1));
+            if (amount == null) {
+                return Optional.empty();
+            }
+            if (negated) {
+                // "한 개도 안 보내요"처럼 "~도 안"이면 0, "두 시간 이상은 안 봐요"처럼 다른 부정은 판단하지 않음
+                if (!rest.startsWith("도", quantity.end())) {
+                    return Optional.empty();
+                }
+                amount = 0.0;
+            }
+            String unit = quantity.group(2).replaceAll("\\s", "");
+            if (!assign(result, unit, amount, period, topic)) {
+                return Optional.empty();
+            }
+        }
+
+        if (!foundQuantity && topic != null && !"type".equals(topic)) {
+            if (text.contains("무제한")) {
+                result.put(topic, UNLIMITED);
+            } else if (negated) {
+                result.put(topic, "0");
+            } else {
+                Matcher bare = BARE_NUMBER.matcher(text);
+                if (bare.matches() && !AMBIGUOUS_WORDS.contains(bare.group(1))) {
+                    Double amount = parseNumber(bare.group(1));
+                    if (amount == null || !assign(result, defaultUnit(topic), amount, period, topic)) {
+                        return Optional.empty();
+                    }
+                }
+            }
+        }
+
+        return result.isEmpty() ? Optional.empty() : Optional.of(result);
+    }
+
+    private static boolean assign(Map<String, String> result, String unit, double amount, Period period, String topic) {
+        String key;
+        long value;
+        switch (unit) {
+            case "세", "살" -> {
+                // 열 살 미만은 요금제 나이로 보기 어렵고, "한 세 시간"처럼 어림말일 가능성이 큼
+                if (amount < MIN_AGE) {
+                    return false;
+                }
+                key = "age";
+                value = Math.round(amount);
+            }
+            case "대" -> {
+                key = "age";
+                value = Math.round(amount);
+            }
+            case "gb", "g", "기가", "기가바이트" -> {
+                key = "data";
+                value = Math.round(amount * MB_PER_GB * period.orMonthly().perMonth);
+            }
+            case "mb", "메가" -> {
+                key = "data";
+                value = Math.round(amount * period.orMonthly().perMonth);
+            }
+            case "건", "개", "통" -> {
+                key = "sms";
+                value = Math.round(amount * period.orDaily().perMonth);
+            }
+            case "분", "시간", "시간반" -> {
+                double hours = switch (unit) {
+                    case "분" -> amount / 60;
+                    case "시간반" -> amount + 0.5;
+                    default -> amount;
+                };
+                if ("voice".equals(topic)) {
+                    key = "voice";
+                    value = Math.round(hours * 60 * period.orDaily().perMonth);
+                } else if ("data".equals(topic)) {
+                    key = "data";
+                    value = Math.round(hours * MB_PER_HOUR * period.orDaily().perMonth);
+                } else {
+                    return false; // 통화 시간인지 데이터 사용 시간인지 알 수 없음
+                }
+            }
+            default -> {
+                return false;
+            }
+        }
+
+        String previous = result.putIfAbsent(key, String.valueOf(value));
+        return previous == null || previous.equals(String.valueOf(value));
+    }
+
+    private static String defaultUnit(String topic) {
+        return switch (topic) {
+            case "voice" -> "분";
+            case "data" -> "시간";
+            case "sms" -> "건";
+            default -> "세";
+        };
+    }
+
+    private static String topicOf(String text) {
+        String topic = null;
+        int matches = 0;
+        if (VOICE_WORDS.matcher(text).find()) { topic = "voice"; matches++; }
+        if (DATA_WORDS.matcher(text).find()) { topic = "data"; matches++; }
+        if (SMS_WORDS.matcher(text).find()) { topic = "sms"; matches++; }
+        if (AGE_WORDS.matcher(text).find()) { topic = "age"; matches++; }
+        if (matches == 0 && TYPE_WORDS.matcher(text).find()) { topic = "type"; matches++; }
+        // 한 문장에 여러 항목이 섞여 있으면 단위 없는 숫자를 어디에 붙일지 정할 수 없음
+        return matches == 1 ? topic : null;
+    }
+
+    private static String network(String text) {
+        if (text.contains("5g") || text.contains("파이브지")) return "6";
+        if (text.contains("lte") || text.contains("4g") || text.contains("엘티이")) return "3";
+        if (text.contains("3g") || text.contains("쓰리지")) return "2";
+        return null;
+    }
+
+    private static String ageGroup(String text) {
+        if (text.contains("청소년") || text.contains("학생")) return "18";
+        if (text.contains("노인") || text.contains("어르신") || text.contains("실버") || text.contains("시니어")) return "65";
+        if (text.contains("성인") || text.contains("직장인")) return "20";
+        return null;
+    }
+
+    private static Period periodOf(String text) {
+        if (DAILY.matcher(text).find()) return Period.DAILY;
+        if (WEEKLY.matcher(text).find()) return Period.WEEKLY;
+        if (MONTHLY.matcher(text).find()) return Period.MONTHLY;
+        return Period.UNSPECIFIED;
+    }
+
+    static Double parseNumber(String token) {
+        String number = token.replaceAll("\\s", "");
+        if (number.isEmpty()) return null;
+        if (Character.isDigit(number.charAt(0))) {
+            return Double.parseDouble(number);
+        }
+        if (number.equals("반")) {
+            return 0.5;
+        }
+        Integer nativeNumber = parseNativeNumber(number);
+        if (nativeNumber != null) {
+            return nativeNumber.doubleValue();
+        }
+        Long sinoNumber = parseSinoNumber(number);
+        return sinoNumber == null ? null : sinoNumber.doubleValue();
+    }
+
+    private static final Map<String, Integer> NATIVE_TENS = Map.of(
+            "열", 10, "스물", 20, "스무", 20, "서른", 30, "마흔", 40,
+            "쉰", 50, "예순", 60, "일흔", 70, "여든", 80, "아흔", 90);
+    private static final Map<String, Integer> NATIVE_UNITS = Map.ofEntries(
+            Map.entry("하나", 1), Map.entry("한", 1), Map.entry("둘", 2), Map.entry("두", 2),
+            Map.entry("셋", 3), Map.entry("세", 3), Map.entry("넷", 4), Map.entry("네", 4),
+            Map.entry("다섯", 5), Map.entry("여섯", 6), Map.entry("일곱", 7), Map.entry("여덟", 8), Map.entry("아홉", 9));
+
+    private static Integer parseNativeNumber(String number) {
+        for (Map.Entry<String, Integer> tens : NATIVE_TENS.entrySet()) {
+            if (number.startsWith(tens.getKey())) {
+                String rest = number.substring(tens.getKey().length());
+                if (rest.isEmpty()) return tens.getValue();
+                Integer unit = NATIVE_UNITS.get(rest);
+                return unit == null ? null : tens.getValue() + unit;
+            }
+        }
+        return NATIVE_UNITS.get(number);
+    }
+
+    private static Long parseSinoNumber(String number) {
+        long total = 0;
+        long section = 0;
+        long digit = 0;
+        for (int i = 0; i < number.length(); i++) {
+            char c = number.charAt(i);
+            int value = "영일이삼사오육칠팔구".indexOf(c);
+            if (value >= 0) {
+                digit = value;
+                continue;
+            }
+            long multiplier = switch (c) {
+                case '십' -> 10;
+                case '백' -> 100;
+                case '천' -> 1000;
+                case '만' -> 10000;
+                default -> -1;
+            };
+            if (multiplier < 0) return null;
+            if (multiplier == 10000) {
+                long head = section + digit;
+                total += (head == 0 ? 1 : head) * multiplier;
+                section = 0;
+            } else {
+                section += (digit == 0 ? 1 : digit) * multiplier;
+            }
+            digit = 0;
+        }
+        return total + section + digit;
+    }
+
+    private enum Period {
+        DAILY(DAYS_PER_MONTH), WEEKLY(WEEKS_PER_MONTH), MONTHLY(1), UNSPECIFIED(0);
+
+        private final double perMonth;
+
+        Period(double perMonth) {
+            this.perMonth = perMonth;
+        }
+
+        Period orDaily() {
+            return this == UNSPECIFIED ? DAILY : this;
+        }
+
+        Period orMonthly() {
+            return this == UNSPECIFIED ? MONTHLY : this;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.together.server.domain.chat;
+
+/**
+ * 로컬에서 OpenAI 토큰 수를 대략적으로 추정합니다.
+ * 한글·한자 등은 글자당 1토큰, 영문·숫자는 4글자당 1토큰, 그 외 기호는 1토큰으로 계산하며
+ * 메시지마다 역할 정보 등 고정 오버헤드를 더합니다.
+ */
+public final class TokenEstimator {
+
+    private static final int MESSAGE_OVERHEAD = 4;
+
+    private TokenEstimator() {
+    }
+
+    public static int estimate(ChatMessage message) {
+        return MESSAGE_OVERHEAD + estimate(message.getSender()) + estimate(message.getContent());
+    }
+
+    public static int estimate(String text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+
+        int wide = 0;
+        int ascii = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c) && c < 128) {
+                ascii++;
+            } else {
+                wide++;
+            }
+        }
+        return wide + (ascii + 3) / 4;
+    }
+}
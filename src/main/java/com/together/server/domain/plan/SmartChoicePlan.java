@@ -4,39 +4,27 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.util.Map;
-
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 public class SmartChoicePlan {
+
+    public static final int UNKNOWN_PRICE = Integer.MAX_VALUE;
+    public static final int UNLIMITED_USAGE = Integer.MAX_VALUE;
+
     private String planName;
     private String data;
     private String voice;
     private String sms;
     private String telecom;
-    private String price;
+    private int price;
 
-    public static SmartChoicePlan from(Map<String, String> map) {
-        return new SmartChoicePlan(
-                map.getOrDefault("planName", ""),
-                map.getOrDefault("data", ""),
-                map.getOrDefault("voice", ""),
-                map.getOrDefault("sms", ""),
-                map.getOrDefault("telecom", ""),
-                map.getOrDefault("price", "0")
-        );
-    }
-
-    public int getPrice() {
-        try {
-            return Integer.parseInt(this.price);
-        } catch (NumberFormatException e) {
-            return Integer.MAX_VALUE;
-        }
-    }
+    // 표시 문구(data/voice/sms)를 파싱할 때 함께 읽은 제공량. 단위는 조회 조건과 같이 MB/분/건, 무제한은 UNLIMITED_USAGE
+    private int dataMegabytes;
+    private int voiceMinutes;
+    private int smsCount;
 
     public static SmartChoicePlan empty() {
-        return new SmartChoicePlan("추천 요금제가 없습니다", "-", "-", "-", "-", "0");
+        return new SmartChoicePlan("추천 요금제가 없습니다", "-", "-", "-", "-", 0, 0, 0, 0);
     }
 }
@@ -0,0 +1,15 @@
+package com.together.server.infra.oauth;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 카카오 로그인 API 주소와 타임아웃 설정입니다. 시간 단위는 ms입니다.
+ */
+@ConfigurationProperties(prefix = "kakao.api")
+public record KakaoApiProperties(
+        String tokenUrl,
+        String userInfoUrl,
+        long connectTimeout,
+        long readTimeout
+) {
+}
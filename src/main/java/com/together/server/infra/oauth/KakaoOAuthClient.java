@@ -1,9 +1,13 @@
 package com.together.server.infra.oauth;
 
+import com.together.server.infra.resilience.UpstreamGuard;
 import com.together.server.support.error.CoreException;
 import com.together.server.support.error.ErrorType;
-import lombok.RequiredArgsConstructor;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
 import org.springframework.stereotype.Component;
 import org.springframework.util.LinkedMultiValueMap;
@@ -13,14 +17,15 @@ import org.springframework.web.client.RestTemplate;
 import java.util.Map;
 
 @Component
-@RequiredArgsConstructor
 public class KakaoOAuthClient {
 
-    private static final String TOKEN_URL = "https://kauth.kakao.com/oauth/token";
-    private static final String USER_INFO_URL = "https://kapi.kakao.com/v2/user/me";
     private static final String GRANT_TYPE = "authorization_code";
+    private static final ParameterizedTypeReference<Map<String, Object>> TOKEN_RESPONSE = new ParameterizedTypeReference<>() {
+    };
 
     private final RestTemplate restTemplate;
+    private final KakaoApiProperties properties;
+    private final UpstreamGuard guard;
 
     @Value("${spring.security.oauth2.client.registration.kakao.client-id}")
     private String clientId;
@@ -28,6 +33,18 @@ public class KakaoOAuthClient {
     @Value("${spring.security.oauth2.client.registration.kakao.redirect-uri}")
     private String redirectUri;
 
+    public KakaoOAuthClient(
+            RestTemplate restTemplate,
+            KakaoApiProperties properties,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            BulkheadRegistry bulkheadRegistry,
+            MeterRegistry meterRegistry
+    ) {
+        this.restTemplate = restTemplate;
+        this.properties = properties;
+        this.guard = new UpstreamGuard("kakao", circuitBreakerRegistry, bulkheadRegistry, meterRegistry);
+    }
+
     public String getAccessToken(String code) {
         HttpHeaders headers = buildFormUrlEncodedHeaders();
 
@@ -40,13 +57,17 @@ public class KakaoOAuthClient {
         HttpEntity<MultiValueMap<String, String>> request = new HttpEntity<>(params, headers);
 
         try {
-            ResponseEntity<Map> response = restTemplate.postForEntity(TOKEN_URL, request, Map.class);
+            ResponseEntity<Map<String, Object>> response = guard.call(
+                    () -> restTemplate.exchange(properties.tokenUrl(), HttpMethod.POST, request, TOKEN_RESPONSE));
             if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
                 return (String) response.getBody().get("access_token");
             } else {
                 throw new CoreException(ErrorType.KAKAO_TOKEN_REQUEST_FAILED);
             }
         } catch (Exception e) {
+            if (UpstreamGuard.isRejected(e)) {
+                throw new CoreException(ErrorType.UPSTREAM_UNAVAILABLE);
+            }
             throw new CoreException(ErrorType.KAKAO_TOKEN_REQUEST_FAILED, e.getMessage());
         }
     }
@@ -59,8 +80,11 @@ public class KakaoOAuthClient {
         HttpEntity<Void> entity = new HttpEntity<>(headers);
 
         try {
-            return restTemplate.exchange(USER_INFO_URL, HttpMethod.GET, entity, String.class);
+            return guard.call(() -> restTemplate.exchange(properties.userInfoUrl(), HttpMethod.GET, entity, String.class));
         } catch (Exception e) {
+            if (UpstreamGuard.isRejected(e)) {
+                throw new CoreException(ErrorType.UPSTREAM_UNAVAILABLE);
+            }
             throw new CoreException(ErrorType.KAKAO_USERINFO_REQUEST_FAILED, e.getMessage());
         }
     }
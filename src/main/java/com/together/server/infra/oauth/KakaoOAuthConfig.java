@@ -0,0 +1,21 @@
+package com.together.server.infra.oauth;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+
+@Configuration
+public class KakaoOAuthConfig {
+
+    @Bean
+    public RestTemplate restTemplate(KakaoApiProperties properties) {
+        // 응답이 없는 외부 호출이 요청 스레드를 계속 붙잡지 않도록 제한
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(Duration.ofMillis(properties.connectTimeout()));
+        requestFactory.setReadTimeout(Duration.ofMillis(properties.readTimeout()));
+        return new RestTemplate(requestFactory);
+    }
+}
@@ -0,0 +1,19 @@
+package com.together.server.infra.openai;
+
+/**
+ * Chat Completions 요청의 모델 파라미터입니다. null인 값은 요청에 포함되지 않습니다.
+ */
+public record ChatCompletionOptions(
+        String model,
+        boolean stream,
+        Double temperature,
+        Double topP,
+        Double frequencyPenalty,
+        Double presencePenalty
+) {
+
+    private static final String MODEL = "gpt-3.5-turbo";
+
+    public static final ChatCompletionOptions STREAMING = new ChatCompletionOptions(MODEL, true, 0.7, 0.9, 0.1, 0.1);
+    public static final ChatCompletionOptions DEFAULT = new ChatCompletionOptions(MODEL, false, null, null, null, null);
+}
@@ -0,0 +1,98 @@
+package com.together.server.infra.openai;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * 모델 파라미터와 고정 system 프롬프트까지를 미리 UTF-8 JSON 바이트로 인코딩해 둔 요청 틀입니다.
+ * 호출마다 달라지는 메시지만 스트리밍 JsonGenerator로 이어 붙이므로,
+ * 긴 프롬프트를 매번 다시 조합하거나 Map을 리플렉션으로 직렬화하지 않습니다.
+ * 인스턴스는 불변이며 여러 스레드에서 공유할 수 있습니다.
+ */
+public final class ChatCompletionTemplate {
+
+    private static final byte[] SUFFIX = {']', '}'};
+
+    private final JsonFactory jsonFactory;
+    private final byte[] prefix;
+    private final boolean hasSystemMessage;
+
+    private ChatCompletionTemplate(JsonFactory jsonFactory, byte[] prefix, boolean hasSystemMessage) {
+        this.jsonFactory = jsonFactory;
+        this.prefix = prefix;
+        this.hasSystemMessage = hasSystemMessage;
+    }
+
+    static ChatCompletionTemplate of(JsonFactory jsonFactory, ChatCompletionOptions options, String systemPrompt) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            // messages 배열을 열어 둔 채로 끝나야 하므로 close 없이 flush만 함
+            JsonGenerator generator = jsonFactory.createGenerator(out);
+            generator.writeStartObject();
+            generator.writeStringField("model", options.model());
+            if (options.stream()) {
+                generator.writeBooleanField("stream", true);
+            }
+            writeNumberField(generator, "temperature", options.temperature());
+            writeNumberField(generator, "top_p", options.topP());
+            writeNumberField(generator, "frequency_penalty", options.frequencyPenalty());
+            writeNumberField(generator, "presence_penalty", options.presencePenalty());
+            generator.writeArrayFieldStart("messages");
+            if (systemPrompt != null) {
+                writeMessage(generator, OpenAiMessage.system(systemPrompt));
+            }
+            generator.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new ChatCompletionTemplate(jsonFactory, out.toByteArray(), systemPrompt != null);
+    }
+
+    public byte[] render(List<OpenAiMessage> messages) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(prefix.length + estimateSize(messages));
+        out.writeBytes(prefix);
+        try (JsonGenerator generator = jsonFactory.createGenerator(out)) {
+            generator.setRootValueSeparator(null);
+            boolean needsComma = hasSystemMessage;
+            for (OpenAiMessage message : messages) {
+                if (needsComma) {
+                    generator.writeRaw(',');
+                }
+                writeMessage(generator, message);
+                needsComma = true;
+            }
+            generator.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        out.writeBytes(SUFFIX);
+        return out.toByteArray();
+    }
+
+    private static void writeMessage(JsonGenerator generator, OpenAiMessage message) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("role", message.role());
+        generator.writeStringField("content", message.content());
+        generator.writeEndObject();
+    }
+
+    private static void writeNumberField(JsonGenerator generator, String name, Double value) throws IOException {
+        if (value != null) {
+            generator.writeNumberField(name, value);
+        }
+    }
+
+    private static int estimateSize(List<OpenAiMessage> messages) {
+        int size = SUFFIX.length;
+        for (OpenAiMessage message : messages) {
+            // 한글은 UTF-8로 3바이트이므로 여유 있게 잡음
+            size += 32 + message.content().length() * 3;
+        }
+        return size;
+    }
+}
@@ -2,10 +2,19 @@ package com.together.server.infra.openai;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.together.server.infra.resilience.UpstreamGuard;
+import com.together.server.infra.singleflight.SingleFlight;
+import com.together.server.support.digest.Fingerprints;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.util.HashMap;
 import java.util.List;
@@ -14,90 +23,70 @@ import java.util.Map;
 @Component
 public class OpenAiChatClient {
 
+    private static final String CONDITION_EXTRACTION_PROMPT = String.join("\n",
+            "아래 문장에서 요금제 추천에 필요한 정보를 추출해서 JSON으로 만들어줘.",
+            "JSON 키: { \"voice\": \"\", \"data\": \"\", \"sms\": \"\", \"age\": \"\", \"type\": \"\" }",
+            "",
+            "- 통화(voice): 하루 또는 한 달 기준 통화 시간 (분)",
+            "- 데이터(data): 하루 또는 한 달 기준 유튜브/인터넷 사용 시간 (분 또는 시간)",
+            "- 문자(sms): 하루 또는 한 달 문자 개수",
+            "- 나이(age): 숫자 (예: 75)",
+            "- 통신망(type): LTE / 5G / 3G",
+            "",
+            "단위가 없으면 하루 기준으로 간주하고, 월 기준으로 환산하지 말고 그대로 값만 추출해줘.",
+            "없으면 null로 채워줘."
+    );
+
     private final WebClient openaiWebClient;
     private final ObjectMapper objectMapper = new ObjectMapper();
-
-    public OpenAiChatClient(@Qualifier("openaiWebClient") WebClient openaiWebClient) {
+    private final ChatCompletionTemplate summaryTemplate;
+    private final ChatCompletionTemplate conditionExtractionTemplate;
+    private final SingleFlight<String, String> summaryFlights;
+    private final UpstreamGuard guard;
+
+    public OpenAiChatClient(
+            @Qualifier("openaiWebClient") WebClient openaiWebClient,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            BulkheadRegistry bulkheadRegistry,
+            MeterRegistry meterRegistry
+    ) {
         this.openaiWebClient = openaiWebClient;
+        this.guard = new UpstreamGuard("openai", circuitBreakerRegistry, bulkheadRegistry, meterRegistry);
+        this.summaryFlights = new SingleFlight<>("openai", meterRegistry);
+        this.summaryTemplate = ChatCompletionTemplate.of(
+                objectMapper.getFactory(), ChatCompletionOptions.DEFAULT, null);
+        this.conditionExtractionTemplate = ChatCompletionTemplate.of(
+                objectMapper.getFactory(), ChatCompletionOptions.DEFAULT, CONDITION_EXTRACTION_PROMPT);
     }
 
-    public Flux<String> streamChatCompletion(String prompt) {
-        Map<String, Object> body = new HashMap<>();
-        body.put("model", "gpt-3.5-turbo");
-        body.put("messages", List.of(Map.of("role", "user", "content", prompt)));
-        body.put("stream", true);
-        body.put("temperature", 0.7);
-        body.put("top_p", 0.9);
-        body.put("frequency_penalty", 0.1);
-        body.put("presence_penalty", 0.1);
-
-        return openaiWebClient.post()
-                .bodyValue(body)
-                .retrieve()
-                .bodyToFlux(String.class)
-                .map(this::extractStreamText)
-                .filter(chunk -> chunk != null && !chunk.isEmpty());
+    /**
+     * system 프롬프트가 고정된 스트리밍 요청 틀을 만듭니다. 서비스 초기화 시 한 번 만들어 재사용합니다.
+     */
+    public ChatCompletionTemplate prepareStreamingTemplate(String systemPrompt) {
+        return ChatCompletionTemplate.of(objectMapper.getFactory(), ChatCompletionOptions.STREAMING, systemPrompt);
     }
 
-    public Flux<String> streamMultiturnChatCompletion(List<Map<String, String>> messages) {
-        Map<String, Object> body = new HashMap<>();
-        body.put("model", "gpt-3.5-turbo");
-        body.put("messages", messages);
-        body.put("stream", true);
-        body.put("temperature", 0.7);
-        body.put("top_p", 0.9);
-        body.put("frequency_penalty", 0.1);
-        body.put("presence_penalty", 0.1);
-
-        return openaiWebClient.post()
-                .bodyValue(body)
-                .retrieve()
-                .bodyToFlux(String.class)
-                .map(this::extractStreamText)
-                .filter(chunk -> chunk != null && !chunk.isEmpty());
+    public Flux<String> streamChatCompletion(ChatCompletionTemplate template, List<OpenAiMessage> messages) {
+        return streamCompletion(template.render(messages));
     }
 
-    public String generateSummaryResponse(String prompt) {
-        Map<String, Object> body = new HashMap<>();
-        body.put("model", "gpt-3.5-turbo");
-        body.put("messages", List.of(Map.of("role", "user", "content", prompt)));
-
-        return openaiWebClient.post()
-                .bodyValue(body)
-                .retrieve()
-                .bodyToMono(String.class)
-                .map(this::extractFullText)
-                .block();
+    /**
+     * 같은 프롬프트(공백 정규화 기준)로 동시에 들어온 요약 요청은 OpenAI를 한 번만 호출하고 결과를 공유합니다.
+     */
+    public Mono<String> generateSummaryResponse(String prompt) {
+        return summaryFlights.execute(Fingerprints.of(prompt), () -> guard.protect(openaiWebClient.post()
+                        .bodyValue(summaryTemplate.render(List.of(OpenAiMessage.user(prompt))))
+                        .retrieve()
+                        .bodyToMono(String.class)
+                        .map(this::extractFullText)));
     }
 
-    public String extractUserConditions(String prompt) {
-        Map<String, Object> body = new HashMap<>();
-        body.put("model", "gpt-3.5-turbo");
-        body.put("messages", List.of(
-                Map.of("role", "system", "content",
-                        String.join("\n",
-                                "아래 문장에서 요금제 추천에 필요한 정보를 추출해서 JSON으로 만들어줘.",
-                                "JSON 키: { \"voice\": \"\", \"data\": \"\", \"sms\": \"\", \"age\": \"\", \"type\": \"\" }",
-                                "",
-                                "- 통화(voice): 하루 또는 한 달 기준 통화 시간 (분)",
-                                "- 데이터(data): 하루 또는 한 달 기준 유튜브/인터넷 사용 시간 (분 또는 시간)",
-                                "- 문자(sms): 하루 또는 한 달 문자 개수",
-                                "- 나이(age): 숫자 (예: 75)",
-                                "- 통신망(type): LTE / 5G / 3G",
-                                "",
-                                "단위가 없으면 하루 기준으로 간주하고, 월 기준으로 환산하지 말고 그대로 값만 추출해줘.",
-                                "없으면 null로 채워줘."
-                        )
-                ),
-                Map.of("role", "user", "content", prompt)
-        ));
-
-        return openaiWebClient.post()
-                .bodyValue(body)
+    public Mono<String> extractUserConditions(String prompt) {
+        return guard.protect(openaiWebClient.post()
+                .bodyValue(conditionExtractionTemplate.render(List.of(OpenAiMessage.user(prompt))))
                 .retrieve()
                 .bodyToMono(String.class)
-                .map(this::extractFullText)
-                .block();
+                .map(this::extractFullText));
     }
 
     public Map<String, String> parseConditionJson(String json) {
@@ -166,17 +155,21 @@ public class OpenAiChatClient {
     }
 
 
-    private String extractStreamText(String json) {
-        try {
-            if (json == null || json.isEmpty() || json.contains("[DONE]")) {
-                return "";
-            }
-            JsonNode root = objectMapper.readTree(json);
-            JsonNode contentNode = root.path("choices").get(0).path("delta").path("content");
-            return contentNode.isMissingNode() ? "" : contentNode.asText();
-        } catch (Exception e) {
-            return "";
-        }
+    /**
+     * 스트리밍 응답을 바이트 단위로 받아 OpenAiStreamDecoder로 delta.content만 추출합니다.
+     * 디코더는 구독마다 새로 만들어지며, 취소 시 아직 처리하지 않은 버퍼는 해제됩니다.
+     * 모든 OpenAI 호출은 openai bulkhead와 서킷 브레이커를 거칩니다.
+     */
+    private Flux<String> streamCompletion(byte[] body) {
+        return guard.protect(openaiWebClient.post()
+                .bodyValue(body)
+                .retrieve()
+                .bodyToFlux(DataBuffer.class)
+                .transformDeferred(buffers -> {
+                    OpenAiStreamDecoder decoder = new OpenAiStreamDecoder(objectMapper.getFactory());
+                    return buffers.concatMapIterable(decoder::decode);
+                })
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release));
     }
 
     private String extractFullText(String json) {
@@ -0,0 +1,15 @@
+package com.together.server.infra.openai;
+
+public record OpenAiMessage(
+        String role,
+        String content
+) {
+
+    public static OpenAiMessage system(String content) {
+        return new OpenAiMessage("system", content);
+    }
+
+    public static OpenAiMessage user(String content) {
+        return new OpenAiMessage("user", content);
+    }
+}
@@ -0,0 +1,141 @@
+package com.together.server.infra.openai;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * OpenAI 스트리밍 응답(text/event-stream)을 DataBuffer 단위로 받아 "data:" 줄을 잘라내고,
+ * 스트리밍 JsonParser로 choices[0].delta.content 값만 읽어 내는 디코더입니다.
+ * 청크마다 JsonNode 트리나 중간 문자열을 만들지 않아 토큰당 가비지가 적습니다.
+ * 줄 경계에 걸친 바이트를 내부에 보관하므로 스트림(구독)마다 새 인스턴스를 사용해야 합니다.
+ */
+class OpenAiStreamDecoder {
+
+    private static final byte[] DATA_PREFIX = {'d', 'a', 't', 'a', ':'};
+    private static final byte[] DONE = {'[', 'D', 'O', 'N', 'E', ']'};
+    private static final int INITIAL_CAPACITY = 4096;
+
+    private final JsonFactory jsonFactory;
+    private byte[] pending = new byte[INITIAL_CAPACITY];
+    private int pendingLength;
+
+    OpenAiStreamDecoder(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    List<String> decode(DataBuffer buffer) {
+        try {
+            int readable = buffer.readableByteCount();
+            ensureCapacity(pendingLength + readable);
+            buffer.read(pending, pendingLength, readable);
+            int scanFrom = pendingLength;
+            pendingLength += readable;
+
+            List<String> contents = new ArrayList<>(2);
+            int lineStart = 0;
+            for (int i = scanFrom; i < pendingLength; i++) {
+                if (pending[i] != '\n') {
+                    continue;
+                }
+                String content = decodeLine(lineStart, i);
+                if (content != null && !content.isEmpty()) {
+                    contents.add(content);
+                }
+                lineStart = i + 1;
+            }
+
+            pendingLength -= lineStart;
+            System.arraycopy(pending, lineStart, pending, 0, pendingLength);
+            return contents;
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    private String decodeLine(int start, int end) {
+        if (end > start && pending[end - 1] == '\r') {
+            end--;
+        }
+        if (!startsWith(start, end, DATA_PREFIX)) {
+            return null;
+        }
+
+        int offset = start + DATA_PREFIX.length;
+        if (offset < end && pending[offset] == ' ') {
+            offset++;
+        }
+        if (startsWith(offset, end, DONE)) {
+            return null;
+        }
+
+        try {
+            return extractDeltaContent(offset, end - offset);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private String extractDeltaContent(int offset, int length) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(pending, offset, length)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            if (!moveToField(parser, "choices") || parser.currentToken() != JsonToken.START_ARRAY) {
+                return null;
+            }
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            if (!moveToField(parser, "delta") || parser.currentToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            if (!moveToField(parser, "content") || parser.currentToken() != JsonToken.VALUE_STRING) {
+                return null;
+            }
+            return parser.getText();
+        }
+    }
+
+    /**
+     * 현재 객체 안에서 name 필드를 찾아 값 토큰에 위치시킵니다. 다른 필드의 값은 건너뜁니다.
+     */
+    private boolean moveToField(JsonParser parser, String name) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if (name.equals(field)) {
+                return true;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    private boolean startsWith(int start, int end, byte[] prefix) {
+        if (end - start < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (pending[start + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= pending.length) {
+            return;
+        }
+        byte[] grown = new byte[Math.max(required, pending.length * 2)];
+        System.arraycopy(pending, 0, grown, 0, pendingLength);
+        pending = grown;
+    }
+}
@@ -0,0 +1,47 @@
+package com.together.server.infra.reputation;
+
+/**
+ * 64비트 해시 하나로 k개의 위치를 만드는(double hashing) 블룸 필터입니다.
+ * 불변은 아니지만, 적재가 끝난 뒤에만 공개되므로 조회 시 동기화가 필요 없습니다.
+ */
+final class BloomFilter {
+
+    private final long[] bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    BloomFilter(long expectedEntries, double falsePositiveRate) {
+        long entries = Math.max(1, expectedEntries);
+        long optimalBits = (long) Math.ceil(-entries * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitCount = Math.max(64, optimalBits);
+        this.bits = new long[(int) ((bitCount + 63) >>> 6)];
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / entries * Math.log(2)));
+    }
+
+    void add(long hash) {
+        long second = secondHash(hash);
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(hash + i * second, bitCount);
+            bits[(int) (index >>> 6)] |= 1L << index;
+        }
+    }
+
+    boolean mightContain(long hash) {
+        long second = secondHash(hash);
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(hash + i * second, bitCount);
+            if ((bits[(int) (index >>> 6)] & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long sizeInBytes() {
+        return (long) bits.length * Long.BYTES;
+    }
+
+    private static long secondHash(long hash) {
+        return ReputationHash.mix(hash ^ 0x9E3779B97F4A7C15L) | 1;
+    }
+}
@@ -0,0 +1,228 @@
+package com.together.server.infra.reputation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * 악성 도메인/URL 차단 목록을 파일에서 읽어 두고, 문자 메시지에 포함된 링크를 바로 확인합니다.
+ * - 파일은 한 줄에 도메인 또는 URL 하나 (#으로 시작하면 주석), 스킴과 끝의 /는 무시
+ * - 링크의 도메인과 상위 도메인(sub.evil.com → evil.com), 경로를 포함한 URL을 모두 확인
+ * - 파일이 바뀌면 새 스냅샷을 따로 만든 뒤 AtomicReference로 교체하므로, 다시 읽는 동안에도 조회가 멈추지 않음
+ * - 파일 읽기는 전용 스레드(reputation-loader)에서 하므로 기동과 다른 예약 작업을 막지 않으며, 첫 적재 전에는 빈 목록으로 조회
+ * - 교체된 스냅샷의 힙 밖 메모리는 진행 중인 조회가 끝나는 대로 해제되어, 두 벌이 GC 때까지 함께 남지 않음
+ * 조회 결과는 reputation.lookups{result=hit|miss|false_positive}, 목록 크기는 reputation.entries/reputation.memory로 확인할 수 있습니다.
+ */
+@Component
+@Slf4j
+public class DomainReputationStore {
+
+    private static final Pattern URL = Pattern.compile(
+            "(?:https?://)?((?:[a-z0-9-]+\\.)+[a-z]{2,}|\\d{1,3}(?:\\.\\d{1,3}){3})(?::\\d+)?([/?#]\\S*)?");
+
+    private final ReputationProperties properties;
+    private final AtomicReference<ReputationSnapshot> snapshot = new AtomicReference<>(ReputationSnapshot.empty());
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("reputation-loader").daemon().factory());
+    private final AtomicBoolean reloadPending = new AtomicBoolean();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter falsePositives;
+
+    public DomainReputationStore(ReputationProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.hits = lookupCounter("hit", meterRegistry);
+        this.misses = lookupCounter("miss", meterRegistry);
+        this.falsePositives = lookupCounter("false_positive", meterRegistry);
+
+        Gauge.builder("reputation.entries", snapshot, ref -> ref.get().size())
+                .description("차단 목록 항목 수")
+                .register(meterRegistry);
+        Gauge.builder("reputation.memory", snapshot, ref -> ref.get().sizeInBytes())
+                .description("블룸 필터와 힙 밖 집합이 차지하는 메모리")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    private static Counter lookupCounter(String result, MeterRegistry meterRegistry) {
+        return Counter.builder("reputation.lookups")
+                .description("차단 목록 조회 결과별 횟수")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 메시지에 포함된 링크 중 차단 목록에 있는 도메인/URL을 반환합니다.
+     */
+    public List<String> findBlocked(String message) {
+        if (!properties.enabled()) {
+            return List.of();
+        }
+
+        ReputationSnapshot current = acquire();
+        try {
+            Set<String> blocked = new LinkedHashSet<>();
+            Matcher url = URL.matcher(message.toLowerCase());
+            while (url.find()) {
+                String host = url.group(1);
+                String path = url.group(2);
+                for (String candidate : candidates(host, path)) {
+                    ReputationSnapshot.Lookup result = current.lookup(candidate);
+                    if (result == ReputationSnapshot.Lookup.HIT) {
+                        hits.increment();
+                        blocked.add(candidate);
+                        break;
+                    }
+                    if (result == ReputationSnapshot.Lookup.FALSE_POSITIVE) {
+                        falsePositives.increment();
+                    } else {
+                        misses.increment();
+                    }
+                }
+            }
+            return List.copyOf(blocked);
+        } finally {
+            current.release();
+        }
+    }
+
+    // 가져오는 사이에 교체되어 이미 해제된 스냅샷이면 새 스냅샷으로 다시 시도
+    private ReputationSnapshot acquire() {
+        while (true) {
+            ReputationSnapshot current = snapshot.get();
+            if (current.retain()) {
+                return current;
+            }
+        }
+    }
+
+    private static List<String> candidates(String host, String path) {
+        List<String> candidates = new ArrayList<>();
+        if (path != null) {
+            String trimmed = trimTrailingSlash(host + path);
+            if (!trimmed.equals(host)) {
+                candidates.add(trimmed);
+            }
+        }
+        candidates.add(host);
+        // 마지막 두 단계(evil.com)까지 상위 도메인을 확인
+        int dot = host.indexOf('.');
+        while (dot >= 0 && host.indexOf('.', dot + 1) >= 0) {
+            candidates.add(host.substring(dot + 1));
+            dot = host.indexOf('.', dot + 1);
+        }
+        return candidates;
+    }
+
+    @PostConstruct
+    public void load() {
+        scheduleReload();
+    }
+
+    @PreDestroy
+    void stopLoader() {
+        loader.shutdownNow();
+    }
+
+    /**
+     * 적재 스레드에 다시 읽기를 맡기고 바로 반환합니다. 이전 요청이 아직 대기 중이면 겹쳐서 넣지 않습니다.
+     */
+    @Scheduled(fixedDelayString = "${reputation.reload-interval}", initialDelayString = "${reputation.reload-interval}")
+    public void scheduleReload() {
+        if (!properties.enabled() || !reloadPending.compareAndSet(false, true)) return;
+        try {
+            loader.execute(() -> {
+                reloadPending.set(false);
+                reloadIfChanged();
+            });
+        } catch (RejectedExecutionException e) {
+            reloadPending.set(false);
+        }
+    }
+
+    private void reloadIfChanged() {
+        Path path = Path.of(properties.blocklistPath());
+        try {
+            if (!Files.exists(path)) return;
+            long lastModified = Files.getLastModifiedTime(path).toMillis();
+            if (lastModified == snapshot.get().lastModified()) return;
+
+            long started = System.currentTimeMillis();
+            ReputationSnapshot loaded = read(path, lastModified);
+            snapshot.getAndSet(loaded).release();
+            log.info("차단 목록 적재 - {}개, {}MB, {}ms",
+                    loaded.size(), loaded.sizeInBytes() / (1024 * 1024), System.currentTimeMillis() - started);
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("차단 목록을 읽지 못했습니다. 이전 목록을 유지합니다: {}", path, e);
+        }
+    }
+
+    private ReputationSnapshot read(Path path, long lastModified) throws IOException {
+        long expected;
+        try (Stream<String> lines = Files.lines(path, StandardCharsets.UTF_8)) {
+            expected = lines.filter(line -> normalizeEntry(line) != null).count();
+        }
+
+        BloomFilter bloomFilter = new BloomFilter(expected, properties.falsePositiveRate());
+        OffHeapLongSet exactSet = new OffHeapLongSet(expected);
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String entry = normalizeEntry(line);
+                if (entry == null) continue;
+                long hash = ReputationHash.of(entry);
+                bloomFilter.add(hash);
+                exactSet.add(hash);
+            }
+        } catch (IOException | RuntimeException e) {
+            // 아직 공개하지 않은 표이므로 바로 해제
+            exactSet.free();
+            throw e;
+        }
+        return new ReputationSnapshot(bloomFilter, exactSet, lastModified);
+    }
+
+    private static String normalizeEntry(String line) {
+        String entry = line.strip();
+        if (entry.isEmpty() || entry.startsWith("#")) {
+            return null;
+        }
+        entry = entry.toLowerCase();
+        int scheme = entry.indexOf("://");
+        if (scheme >= 0) {
+            entry = entry.substring(scheme + 3);
+        }
+        return trimTrailingSlash(entry);
+    }
+
+    private static String trimTrailingSlash(String value) {
+        int end = value.length();
+        while (end > 0 && value.charAt(end - 1) == '/') {
+            end--;
+        }
+        return value.substring(0, end);
+    }
+}
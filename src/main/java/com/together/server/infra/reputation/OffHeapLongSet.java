@@ -0,0 +1,102 @@
+package com.together.server.infra.reputation;
+
+import sun.misc.Unsafe;
+
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+
+/**
+ * 64비트 지문을 힙 밖(direct ByteBuffer)에 저장하는 open addressing 집합입니다.
+ * 수천만 개를 담아도 GC 대상 객체가 늘지 않으며, 적재가 끝난 뒤에는 읽기만 합니다.
+ * 0은 빈 칸 표시로 쓰므로 지문 0은 다른 값으로 바꿔 저장합니다.
+ * direct ByteBuffer는 GC가 버퍼 객체를 거둘 때에야 해제되므로, 다시 적재할 때 이전 표를 free()로 바로 돌려줍니다.
+ */
+final class OffHeapLongSet {
+
+    private static final long EMPTY = 0L;
+    private static final long ZERO_REPLACEMENT = 0x5DEECE66DL;
+    private static final int MAX_CAPACITY = 1 << 27; // ByteBuffer는 int 범위(2GB 미만)까지만 주소 지정 가능
+    private static final Unsafe UNSAFE = loadUnsafe();
+
+    private final ByteBuffer table;
+    private final int mask;
+    private long size;
+
+    OffHeapLongSet(long expectedEntries) {
+        int capacity = tableSizeFor(Math.max(16, expectedEntries * 2)); // 적재율 0.5 이하 유지
+        this.table = ByteBuffer.allocateDirect(capacity * Long.BYTES);
+        this.mask = capacity - 1;
+    }
+
+    boolean add(long key) {
+        long value = key == EMPTY ? ZERO_REPLACEMENT : key;
+        int slot = slotOf(value);
+        while (true) {
+            long current = table.getLong(slot * Long.BYTES);
+            if (current == EMPTY) {
+                table.putLong(slot * Long.BYTES, value);
+                size++;
+                return true;
+            }
+            if (current == value) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    boolean contains(long key) {
+        long value = key == EMPTY ? ZERO_REPLACEMENT : key;
+        int slot = slotOf(value);
+        while (true) {
+            long current = table.getLong(slot * Long.BYTES);
+            if (current == EMPTY) {
+                return false;
+            }
+            if (current == value) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    long size() {
+        return size;
+    }
+
+    long sizeInBytes() {
+        return table.capacity();
+    }
+
+    /**
+     * 힙 밖 메모리를 GC를 기다리지 않고 바로 해제합니다. 해제한 뒤에 조회하면 JVM이 비정상 종료될 수 있으므로,
+     * 이 집합을 읽는 스레드가 더 없을 때만 호출해야 합니다 (ReputationSnapshot.release 참고).
+     */
+    void free() {
+        if (UNSAFE != null) {
+            UNSAFE.invokeCleaner(table);
+        }
+    }
+
+    private int slotOf(long value) {
+        return (int) (value ^ (value >>> 32)) & mask;
+    }
+
+    // jdk.unsupported 모듈이 없는 런타임이면 null이며, 그때는 GC가 해제할 때까지 기다림
+    private static Unsafe loadUnsafe() {
+        try {
+            Field field = Unsafe.class.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            return (Unsafe) field.get(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static int tableSizeFor(long minimum) {
+        if (minimum > MAX_CAPACITY) {
+            throw new IllegalArgumentException("평판 목록이 너무 큽니다: " + minimum / 2);
+        }
+        return Integer.highestOneBit((int) (minimum - 1)) << 1;
+    }
+}
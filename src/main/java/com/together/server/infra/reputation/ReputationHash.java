@@ -0,0 +1,32 @@
+package com.together.server.infra.reputation;
+
+/**
+ * 도메인/URL 문자열의 64비트 지문입니다. FNV-1a로 누적한 뒤 MurmurHash3 finalizer로 비트를 섞습니다.
+ * 수천만 개 규모에서 64비트 충돌 확률은 무시할 수 있는 수준입니다.
+ */
+final class ReputationHash {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private ReputationHash() {
+    }
+
+    static long of(CharSequence value) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return mix(hash);
+    }
+
+    static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,12 @@
+package com.together.server.infra.reputation;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "reputation")
+public record ReputationProperties(
+        boolean enabled,
+        String blocklistPath,
+        long reloadInterval,
+        double falsePositiveRate
+) {
+}
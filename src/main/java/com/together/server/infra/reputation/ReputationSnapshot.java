@@ -0,0 +1,71 @@
+package com.together.server.infra.reputation;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 한 번에 적재한 차단 목록입니다. 블룸 필터로 대부분의 정상 도메인을 힙 안에서 바로 걸러내고,
+ * 필터를 통과한 경우에만 힙 밖의 정확한 집합으로 확인합니다.
+ * 참조 수를 세어, 새 목록으로 교체된 뒤 마지막 조회가 끝나는 순간 힙 밖 메모리를 해제합니다.
+ * 조회하는 쪽은 retain()에 성공한 뒤 읽고 release()로 돌려주며, 저장소가 가진 참조 1은 교체할 때 release()합니다.
+ */
+final class ReputationSnapshot {
+
+    private final BloomFilter bloomFilter;
+    private final OffHeapLongSet exactSet;
+    private final long lastModified;
+    private final AtomicInteger refCount = new AtomicInteger(1);
+
+    ReputationSnapshot(BloomFilter bloomFilter, OffHeapLongSet exactSet, long lastModified) {
+        this.bloomFilter = bloomFilter;
+        this.exactSet = exactSet;
+        this.lastModified = lastModified;
+    }
+
+    static ReputationSnapshot empty() {
+        return new ReputationSnapshot(new BloomFilter(1, 0.01), new OffHeapLongSet(1), 0);
+    }
+
+    /**
+     * @return 이미 해제되었으면 false, 이때는 교체된 새 스냅샷을 다시 가져와야 함
+     */
+    boolean retain() {
+        int count;
+        do {
+            count = refCount.get();
+            if (count == 0) {
+                return false;
+            }
+        } while (!refCount.compareAndSet(count, count + 1));
+        return true;
+    }
+
+    void release() {
+        if (refCount.decrementAndGet() == 0) {
+            exactSet.free();
+        }
+    }
+
+    Lookup lookup(String entry) {
+        long hash = ReputationHash.of(entry);
+        if (!bloomFilter.mightContain(hash)) {
+            return Lookup.MISS;
+        }
+        return exactSet.contains(hash) ? Lookup.HIT : Lookup.FALSE_POSITIVE;
+    }
+
+    long size() {
+        return exactSet.size();
+    }
+
+    long sizeInBytes() {
+        return bloomFilter.sizeInBytes() + exactSet.sizeInBytes();
+    }
+
+    long lastModified() {
+        return lastModified;
+    }
+
+    enum Lookup {
+        HIT, MISS, FALSE_POSITIVE
+    }
+}
@@ -0,0 +1,94 @@
+package com.together.server.infra.resilience;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.function.Supplier;
+
+/**
+ * 외부 API 하나(upstream)에 대한 동시 호출 제한(bulkhead)과 서킷 브레이커를 묶어 적용합니다.
+ * - 설정은 resilience4j.bulkhead/circuitbreaker.instances.{upstream}을 따름
+ * - 동시 호출 수를 넘거나 서킷이 열려 있으면 upstream을 호출하지 않고 바로 실패시키며,
+ *   호출하는 쪽은 isRejected로 구분해 캐시된 값이나 안내 문구로 대신 응답
+ * - 서킷 상태와 bulkhead 여유는 resilience4j.* 메트릭, 거절 횟수는 upstream.rejected{upstream, reason}로 확인
+ * - bulkhead 자리가 빌 때까지 max-wait-duration만큼 기다리는 동안 구독한 스레드가 멈추므로,
+ *   대기 시간이 있으면 Reactor 호출은 boundedElastic에서 구독해 이벤트 루프 스레드를 막지 않음
+ */
+public final class UpstreamGuard {
+
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final boolean waitsForPermission;
+    private final Counter circuitOpenRejections;
+    private final Counter bulkheadFullRejections;
+
+    public UpstreamGuard(
+            String upstream,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            BulkheadRegistry bulkheadRegistry,
+            MeterRegistry meterRegistry
+    ) {
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(upstream);
+        this.bulkhead = bulkheadRegistry.bulkhead(upstream);
+        this.waitsForPermission = !bulkhead.getBulkheadConfig().getMaxWaitDuration().isZero();
+        this.circuitOpenRejections = rejectionCounter(upstream, "circuit_open", meterRegistry);
+        this.bulkheadFullRejections = rejectionCounter(upstream, "bulkhead_full", meterRegistry);
+    }
+
+    private static Counter rejectionCounter(String upstream, String reason, MeterRegistry meterRegistry) {
+        return Counter.builder("upstream.rejected")
+                .description("bulkhead 또는 서킷 브레이커에 막혀 호출하지 않은 요청 수")
+                .tag("upstream", upstream)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    public <T> Mono<T> protect(Mono<T> call) {
+        Mono<T> guarded = call.transformDeferred(BulkheadOperator.of(bulkhead))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .doOnError(this::countRejection);
+        return waitsForPermission ? guarded.subscribeOn(Schedulers.boundedElastic()) : guarded;
+    }
+
+    /**
+     * 스트리밍 응답은 스트림이 끝날 때까지 bulkhead 자리를 차지합니다.
+     */
+    public <T> Flux<T> protect(Flux<T> call) {
+        Flux<T> guarded = call.transformDeferred(BulkheadOperator.of(bulkhead))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .doOnError(this::countRejection);
+        return waitsForPermission ? guarded.subscribeOn(Schedulers.boundedElastic()) : guarded;
+    }
+
+    public <T> T call(Supplier<T> call) {
+        try {
+            return CircuitBreaker.decorateSupplier(circuitBreaker, Bulkhead.decorateSupplier(bulkhead, call)).get();
+        } catch (RuntimeException e) {
+            countRejection(e);
+            throw e;
+        }
+    }
+
+    public static boolean isRejected(Throwable error) {
+        return error instanceof CallNotPermittedException || error instanceof BulkheadFullException;
+    }
+
+    private void countRejection(Throwable error) {
+        if (error instanceof CallNotPermittedException) {
+            circuitOpenRejections.increment();
+        } else if (error instanceof BulkheadFullException) {
+            bulkheadFullRejections.increment();
+        }
+    }
+}
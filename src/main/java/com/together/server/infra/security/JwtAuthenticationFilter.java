@@ -30,6 +30,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final TokenProvider tokenProvider;
     private final TokenCookieHandler tokenCookieHandler;
     private final AuthService authService;
+    private final PrincipalCache principalCache;
     private final AuthenticationEntryPoint authenticationEntryPoint;
 
     @Override
@@ -71,7 +72,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private MemberDetailsResponse fetchMemberInfo(String memberId) {
         try {
-            return authService.getMemberDetails(memberId);
+            return principalCache.get(memberId, authService::getMemberDetails);
         } catch (MemberNotFoundException e) {
             throw new BadCredentialsException(ErrorType.MEMBER_NOT_FOUND.name(), e);
         }
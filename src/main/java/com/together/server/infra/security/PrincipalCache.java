@@ -0,0 +1,55 @@
+package com.together.server.infra.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.together.server.application.auth.response.MemberDetailsResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.function.Function;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 인증된 회원 정보를 회원 ID 기준으로 메모리에 보관하는 캐시입니다.
+ * - get: 캐시에 없을 때만 loader로 DB를 조회하고 결과를 저장
+ * - evict: 회원 정보가 변경되면 캐시에서 제거 (트랜잭션 중이면 커밋 이후에도 한 번 더 제거)
+ * - 최대 개수와 만료 시간(accessToken 수명)은 security.principal-cache 설정을 따르며,
+ *   hit/miss 횟수는 cache.gets 메트릭(cache=principal)으로 확인할 수 있습니다.
+ */
+
+@Component
+public class PrincipalCache {
+
+    private static final String CACHE_NAME = "principal";
+
+    private final Cache<String, MemberDetailsResponse> cache;
+
+    public PrincipalCache(PrincipalCacheProperties properties, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(Duration.ofMillis(properties.expireAfterWrite()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public MemberDetailsResponse get(String memberId, Function<String, MemberDetailsResponse> loader) {
+        return cache.get(memberId, loader);
+    }
+
+    public void evict(String memberId) {
+        cache.invalidate(memberId);
+
+        // 커밋 전에 다른 요청이 이전 값을 다시 적재할 수 있으므로 커밋 이후에도 제거
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(memberId);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.together.server.infra.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "security.principal-cache")
+public record PrincipalCacheProperties(
+        long maximumSize,
+        long expireAfterWrite
+) {
+}
@@ -6,6 +6,7 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 public record JwtTokenProperties(
         String secretKey,
         long expirationTime,
-        long refreshTokenTime
+        long refreshTokenTime,
+        long claimsCacheSize
 ) {
 }
@@ -1,16 +1,24 @@
 package com.together.server.infra.security.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.together.server.application.auth.TokenProvider;
 import com.together.server.infra.security.jwt.exception.BlankTokenException;
 import com.together.server.infra.security.jwt.exception.InvalidTokenException;
 import com.together.server.infra.security.jwt.exception.TokenExpiredException;
+import com.together.server.support.digest.Fingerprints;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Date;
 import javax.crypto.SecretKey;
 import org.springframework.stereotype.Component;
@@ -20,19 +28,34 @@ import org.springframework.stereotype.Component;
  * - createToken: 사용자 ID로 JWT 토큰 생성
  * - getMemberId: 토큰에서 사용자 ID 추출
  * - 내부적으로 토큰이 비었거나, 만료됐거나, 유효하지 않을 때 각각 예외 발생
+ * - 검증된 Claims는 토큰 해시(SHA-256) 기준으로 만료 시각(exp)까지 캐시되어,
+ *   같은 토큰으로 들어온 요청은 서명 검증과 디코딩을 다시 하지 않음
  */
 
 @Component
 public class JwtTokenProvider implements TokenProvider {
 
+    private static final String CACHE_NAME = "jwtClaims";
+
     private final SecretKey key;
     private final Long expirationTime;
     private final Long refreshTokenTime;
+    private final JwtParser parser;
+    private final Cache<String, Claims> claimsCache;
 
-    public JwtTokenProvider(JwtTokenProperties properties) {
+    public JwtTokenProvider(JwtTokenProperties properties, MeterRegistry meterRegistry) {
         this.key = Keys.hmacShaKeyFor(properties.secretKey().getBytes(StandardCharsets.UTF_8));
         this.expirationTime = properties.expirationTime();
         this.refreshTokenTime = properties.refreshTokenTime();
+        this.parser = Jwts.parser()
+                .verifyWith(key)
+                .build();
+        this.claimsCache = Caffeine.newBuilder()
+                .maximumSize(properties.claimsCacheSize())
+                .expireAfter(new ClaimsExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, claimsCache, CACHE_NAME);
     }
 
     public String createToken(String memberId) {
@@ -71,9 +94,7 @@ public class JwtTokenProvider implements TokenProvider {
         }
 
         try {
-            Jws<Claims> claimsJws = getClaimsJws(token);
-
-            return claimsJws.getPayload();
+            return claimsCache.get(Fingerprints.sha256(token), ignored -> getClaimsJws(token).getPayload());
         } catch (ExpiredJwtException e) {
             throw new TokenExpiredException(e);
         } catch (JwtException e) {
@@ -82,19 +103,42 @@ public class JwtTokenProvider implements TokenProvider {
     }
 
     private Jws<Claims> getClaimsJws(String token) {
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token);
+        return parser.parseSignedClaims(token);
     }
 
     @Override
     public boolean validateToken(String token) {
         try {
-            getClaimsJws(token); // 파싱이 되면 유효한 토큰
+            toClaims(token); // 파싱이 되면 유효한 토큰
             return true;
         } catch (BlankTokenException | TokenExpiredException | InvalidTokenException e) {
             return false;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 캐시 항목이 토큰의 exp 시각에 정확히 만료되도록 항목별 만료 시간을 계산합니다.
+     */
+    private static class ClaimsExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String digest, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return 0;
+            }
+            long remainingMillis = expiration.getTime() - System.currentTimeMillis();
+            return Duration.ofMillis(Math.max(remainingMillis, 0)).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String digest, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String digest, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
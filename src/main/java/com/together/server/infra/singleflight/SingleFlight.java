@@ -0,0 +1,70 @@
+package com.together.server.infra.singleflight;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * 같은 키로 동시에 들어온 외부 호출을 하나로 합칩니다.
+ * - 첫 호출(leader)만 실제 upstream을 구독하고, 진행 중에 들어온 호출(coalesced)은 같은 결과를 공유
+ * - 호출이 끝나면(성공/실패/취소) 키가 제거되므로 결과를 보관하지 않으며, 캐시는 호출하는 쪽에서 따로 둡니다.
+ * - 긴 요청은 Fingerprints.of로 만든 지문을 키로 사용
+ * - 호출 수는 singleflight.calls{upstream, result=leader|coalesced}, 진행 중 키 수는 singleflight.inflight로 확인할 수 있습니다.
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, Mono<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaderCalls;
+    private final Counter coalescedCalls;
+
+    public SingleFlight(String upstream, MeterRegistry meterRegistry) {
+        this.leaderCalls = callCounter(upstream, "leader", meterRegistry);
+        this.coalescedCalls = callCounter(upstream, "coalesced", meterRegistry);
+        Gauge.builder("singleflight.inflight", inFlight, ConcurrentHashMap::size)
+                .description("진행 중인 upstream 호출 키 수")
+                .tag("upstream", upstream)
+                .register(meterRegistry);
+    }
+
+    private static Counter callCounter(String upstream, String result, MeterRegistry meterRegistry) {
+        return Counter.builder("singleflight.calls")
+                .description("single-flight를 거친 호출 수")
+                .tag("upstream", upstream)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    public Mono<V> execute(K key, Supplier<Mono<V>> call) {
+        return Mono.defer(() -> {
+            Mono<V> running = inFlight.get(key);
+            if (running != null) {
+                coalescedCalls.increment();
+                return running;
+            }
+
+            // doFinally는 결과가 호출한 쪽에 전달된 뒤에 실행되어, 바로 이어진 재호출이 끝난 호출에 붙을 수 있으므로
+            // 결과를 전달하기 전에 키를 제거
+            AtomicReference<Mono<V>> self = new AtomicReference<>();
+            Runnable release = () -> inFlight.remove(key, self.get());
+            Mono<V> candidate = Mono.defer(call)
+                    .doOnSuccess(value -> release.run())
+                    .doOnError(error -> release.run())
+                    .doOnCancel(release)
+                    .share();
+            self.set(candidate);
+
+            Mono<V> winner = inFlight.putIfAbsent(key, candidate);
+            if (winner != null) {
+                coalescedCalls.increment();
+                return winner;
+            }
+            leaderCalls.increment();
+            return candidate;
+        });
+    }
+}
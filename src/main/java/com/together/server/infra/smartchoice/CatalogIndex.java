@@ -0,0 +1,139 @@
+package com.together.server.infra.smartchoice;
+
+import com.together.server.domain.plan.SmartChoicePlan;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 스냅샷을 조회용으로 바꾼 불변 인덱스입니다.
+ * - 요금제는 월요금 오름차순으로 번호를 매기므로, 결과 BitSet을 순서대로 읽으면 저렴한 요금제부터 나옴
+ * - 통화/데이터/문자는 파서가 읽어 둔 숫자 제공량(SmartChoicePlan.voiceMinutes 등)으로 차원마다 오름차순 배열을 두고,
+ *   이분 탐색으로 "요청량 이상" 구간을 BitSet으로 만듦
+ * - 통신망:연령대 조합별 가입 가능 BitSet과 세 차원의 BitSet을 교집합해 결과를 구함
+ */
+final class CatalogIndex {
+
+    private static final int VOICE = 0;
+    private static final int DATA = 1;
+    private static final int SMS = 2;
+
+    private final long createdAt;
+    private final SmartChoicePlan[] plans;
+    private final int[][] sortedUsage;
+    private final int[][] sortedPlanIds;
+    private final Map<String, BitSet> segments;
+
+    private CatalogIndex(long createdAt, SmartChoicePlan[] plans, int[][] sortedUsage,
+                         int[][] sortedPlanIds, Map<String, BitSet> segments) {
+        this.createdAt = createdAt;
+        this.plans = plans;
+        this.sortedUsage = sortedUsage;
+        this.sortedPlanIds = sortedPlanIds;
+        this.segments = segments;
+    }
+
+    static CatalogIndex build(CatalogSnapshot snapshot) {
+        List<CatalogSnapshot.Entry> entries = new ArrayList<>(snapshot.entries());
+        entries.sort(Comparator.comparingInt(entry -> entry.plan().getPrice()));
+
+        int size = entries.size();
+        SmartChoicePlan[] plans = new SmartChoicePlan[size];
+        int[][] usage = new int[3][size];
+        Map<String, BitSet> segments = new HashMap<>();
+
+        for (int id = 0; id < size; id++) {
+            CatalogSnapshot.Entry entry = entries.get(id);
+            SmartChoicePlan plan = entry.plan();
+            plans[id] = plan;
+            usage[VOICE][id] = plan.getVoiceMinutes();
+            usage[DATA][id] = plan.getDataMegabytes();
+            usage[SMS][id] = plan.getSmsCount();
+            for (String segment : entry.segments()) {
+                segments.computeIfAbsent(segment, key -> new BitSet(size)).set(id);
+            }
+        }
+
+        int[][] sortedUsage = new int[3][];
+        int[][] sortedPlanIds = new int[3][];
+        for (int dimension = 0; dimension < 3; dimension++) {
+            int[] values = usage[dimension];
+            Integer[] ids = new Integer[size];
+            for (int id = 0; id < size; id++) {
+                ids[id] = id;
+            }
+            Arrays.sort(ids, Comparator.comparingInt(id -> values[id]));
+
+            sortedUsage[dimension] = new int[size];
+            sortedPlanIds[dimension] = new int[size];
+            for (int i = 0; i < size; i++) {
+                sortedPlanIds[dimension][i] = ids[i];
+                sortedUsage[dimension][i] = values[ids[i]];
+            }
+        }
+
+        return new CatalogIndex(snapshot.createdAt(), plans, sortedUsage, sortedPlanIds, segments);
+    }
+
+    long createdAt() {
+        return createdAt;
+    }
+
+    int size() {
+        return plans.length;
+    }
+
+    boolean covers(String segment) {
+        return segments.containsKey(segment);
+    }
+
+    /**
+     * 해당 조합에 가입 가능하고 통화/데이터/문자 제공량이 모두 요청량 이상인 요금제를 월요금 오름차순으로 반환합니다.
+     */
+    List<SmartChoicePlan> find(String segment, int voice, int data, int sms) {
+        BitSet eligible = segments.get(segment);
+        if (eligible == null) {
+            return List.of();
+        }
+
+        BitSet result = (BitSet) eligible.clone();
+        result.and(atLeast(VOICE, voice));
+        result.and(atLeast(DATA, data));
+        result.and(atLeast(SMS, sms));
+
+        List<SmartChoicePlan> found = new ArrayList<>(result.cardinality());
+        for (int id = result.nextSetBit(0); id >= 0; id = result.nextSetBit(id + 1)) {
+            found.add(plans[id]);
+        }
+        return found;
+    }
+
+    private BitSet atLeast(int dimension, int minimum) {
+        int[] values = sortedUsage[dimension];
+        int[] ids = sortedPlanIds[dimension];
+        BitSet bits = new BitSet(plans.length);
+        for (int i = lowerBound(values, minimum); i < values.length; i++) {
+            bits.set(ids[i]);
+        }
+        return bits;
+    }
+
+    private static int lowerBound(int[] values, int key) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
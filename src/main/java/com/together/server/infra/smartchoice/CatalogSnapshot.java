@@ -0,0 +1,26 @@
+package com.together.server.infra.smartchoice;
+
+import com.together.server.domain.plan.SmartChoicePlan;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * SmartChoice 전체 요금제 목록의 스냅샷입니다. 재시작 시 바로 사용할 수 있도록 JSON 파일로 저장됩니다.
+ * segments는 요금제가 조회된 "통신망:연령대" 조합(예: "6:65")으로, 가입 가능 여부를 나타냅니다.
+ * version이 VERSION과 다른 파일(숫자 제공량이 없던 이전 형식 등)은 읽지 않고 다음 갱신을 기다립니다.
+ */
+record CatalogSnapshot(
+        int version,
+        long createdAt,
+        List<Entry> entries
+) {
+
+    static final int VERSION = 2;
+
+    record Entry(
+            SmartChoicePlan plan,
+            Set<String> segments
+    ) {
+    }
+}
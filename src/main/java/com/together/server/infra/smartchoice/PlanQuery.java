@@ -0,0 +1,46 @@
+package com.together.server.infra.smartchoice;
+
+/**
+ * SmartChoice 요금제 조회 조건입니다. 캐시 키로 쓰이므로 생성 시 사용량을 구간 단위로 올림합니다.
+ * - voice: 30분 단위, data: 1000MB(1GB) 단위, sms: 10건 단위
+ * - 무제한(999999)이나 숫자가 아닌 값, age/type은 그대로 유지
+ * 올림한 값으로 API를 호출하므로, 추천 요금제가 사용자가 말한 사용량보다 적게 제공되는 일은 없습니다.
+ */
+public record PlanQuery(
+        String voice,
+        String data,
+        String sms,
+        String age,
+        String type
+) {
+
+    private static final int VOICE_BAND = 30;
+    private static final int DATA_BAND = 1000;
+    private static final int SMS_BAND = 10;
+    private static final String UNLIMITED = "999999";
+
+    public static PlanQuery of(String voice, String data, String sms, String age, String type) {
+        return new PlanQuery(
+                roundUp(voice, VOICE_BAND),
+                roundUp(data, DATA_BAND),
+                roundUp(sms, SMS_BAND),
+                age,
+                type
+        );
+    }
+
+    private static String roundUp(String value, int band) {
+        if (value == null || UNLIMITED.equals(value)) {
+            return value;
+        }
+        try {
+            long amount = Long.parseLong(value);
+            if (amount <= 0) {
+                return value;
+            }
+            return String.valueOf((amount + band - 1) / band * band);
+        } catch (NumberFormatException e) {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.together.server.infra.smartchoice;
+
+import com.together.server.domain.plan.SmartChoicePlan;
+
+/**
+ * 요금제 표시 문구("300분", "10GB+일 2GB", "기본제공")에서 비교 가능한 제공량을 읽습니다.
+ * 단위는 조회 조건과 같게 통화는 분, 데이터는 MB, 문자는 건이며, 무제한/기본제공은 UNLIMITED로 취급합니다.
+ * 첫 번째 숫자만 읽으므로 "+일 2GB" 같은 부가 제공량은 반영하지 않습니다.
+ * XML을 파싱할 때 한 번만 호출해 SmartChoicePlan의 숫자 필드에 담고, 인덱스는 그 값을 그대로 씁니다.
+ */
+final class PlanUsage {
+
+    static final int UNLIMITED = SmartChoicePlan.UNLIMITED_USAGE;
+
+    private static final int MB_PER_GB = 1000;
+
+    private PlanUsage() {
+    }
+
+    static int voiceMinutes(String display) {
+        return parse(display, 1);
+    }
+
+    static int dataMegabytes(String display) {
+        return parse(display, MB_PER_GB);
+    }
+
+    static int smsCount(String display) {
+        return parse(display, 1);
+    }
+
+    /**
+     * @param defaultMultiplier 단위가 GB가 아닐 때 곱할 값 (데이터는 단위가 없으면 GB로 간주)
+     */
+    private static int parse(String display, int defaultMultiplier) {
+        if (display == null || display.isBlank()) {
+            return 0;
+        }
+        if (display.contains("무제한") || display.contains("기본제공")) {
+            return UNLIMITED;
+        }
+
+        int start = 0;
+        while (start < display.length() && !Character.isDigit(display.charAt(start))) {
+            start++;
+        }
+        if (start == display.length()) {
+            return 0;
+        }
+
+        int end = start;
+        while (end < display.length() && (Character.isDigit(display.charAt(end)) || display.charAt(end) == '.')) {
+            end++;
+        }
+
+        double amount;
+        try {
+            amount = Double.parseDouble(display.substring(start, end));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+
+        String unit = display.substring(end).stripLeading().toUpperCase();
+        if (unit.startsWith("MB")) {
+            return (int) amount;
+        }
+        if (unit.startsWith("GB")) {
+            return (int) Math.min(UNLIMITED, amount * MB_PER_GB);
+        }
+        return (int) Math.min(UNLIMITED, amount * defaultMultiplier);
+    }
+}
@@ -0,0 +1,10 @@
+package com.together.server.infra.smartchoice;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "smartchoice.cache")
+public record SmartChoiceCacheProperties(
+        long maximumSize,
+        long expireAfterWrite
+) {
+}
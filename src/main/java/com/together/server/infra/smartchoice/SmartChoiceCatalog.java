@@ -0,0 +1,137 @@
+package com.together.server.infra.smartchoice;
+
+import com.together.server.domain.plan.SmartChoicePlan;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 주기적으로 받아 둔 SmartChoice 전체 요금제 스냅샷입니다.
+ * - 스냅샷이 smartchoice.catalog.max-age 안이면 원격 API 대신 인덱스에서 바로 응답 (find)
+ * - 오래되었거나 인덱스가 다룰 수 없는 조건이면 빈 값을 돌려주고, 호출하는 쪽이 원격 API를 호출
+ * - 원격 API를 쓸 수 없을 때는 오래된 스냅샷이라도 대신 응답 (findLastKnown)
+ * - 스냅샷 교체는 AtomicReference로 한 번에 이루어지므로 조회 중에 잠금이 필요 없음
+ * - 조회 결과는 smartchoice.catalog.lookups{result=hit|stale|unsupported}, 스냅샷 상태는 smartchoice.catalog.plans/age로 확인
+ */
+@Component
+public class SmartChoiceCatalog {
+
+    static final List<String> TYPES = List.of("2", "3", "6");
+    static final List<String> AGE_GROUPS = List.of("18", "20", "65");
+
+    private final SmartChoiceCatalogProperties properties;
+    private final AtomicReference<CatalogIndex> index = new AtomicReference<>();
+    private final Counter hits;
+    private final Counter staleMisses;
+    private final Counter unsupportedMisses;
+
+    public SmartChoiceCatalog(SmartChoiceCatalogProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.hits = lookupCounter("hit", meterRegistry);
+        this.staleMisses = lookupCounter("stale", meterRegistry);
+        this.unsupportedMisses = lookupCounter("unsupported", meterRegistry);
+
+        Gauge.builder("smartchoice.catalog.plans", index, ref -> {
+                    CatalogIndex current = ref.get();
+                    return current == null ? 0 : current.size();
+                })
+                .description("현재 스냅샷의 요금제 수")
+                .register(meterRegistry);
+        Gauge.builder("smartchoice.catalog.age", index, ref -> {
+                    CatalogIndex current = ref.get();
+                    return current == null ? -1 : (System.currentTimeMillis() - current.createdAt()) / 1000.0;
+                })
+                .description("현재 스냅샷이 만들어진 뒤 지난 시간")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    private static Counter lookupCounter(String result, MeterRegistry meterRegistry) {
+        return Counter.builder("smartchoice.catalog.lookups")
+                .description("요금제 스냅샷 조회 결과")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    void publish(CatalogSnapshot snapshot) {
+        index.set(CatalogIndex.build(snapshot));
+    }
+
+    /**
+     * 스냅샷이 최신이면 조건에 맞는 요금제를 월요금 오름차순으로 돌려줍니다.
+     * 스냅샷이 없거나 max-age보다 오래되었거나 조건을 인덱스로 다룰 수 없으면 빈 값을 반환합니다.
+     */
+    public Optional<List<SmartChoicePlan>> find(PlanQuery query) {
+        if (!properties.enabled()) {
+            return Optional.empty();
+        }
+
+        CatalogIndex current = index.get();
+        if (current == null || System.currentTimeMillis() - current.createdAt() > properties.maxAge()) {
+            staleMisses.increment();
+            return Optional.empty();
+        }
+        Optional<List<SmartChoicePlan>> found = lookup(current, query);
+        found.ifPresent(plans -> hits.increment());
+        return found;
+    }
+
+    /**
+     * 원격 API를 쓸 수 없을 때의 대체 응답용으로, 스냅샷이 오래되었더라도 마지막 스냅샷에서 찾습니다.
+     */
+    public Optional<List<SmartChoicePlan>> findLastKnown(PlanQuery query) {
+        CatalogIndex current = index.get();
+        if (current == null) {
+            return Optional.empty();
+        }
+        return lookup(current, query);
+    }
+
+    private Optional<List<SmartChoicePlan>> lookup(CatalogIndex current, PlanQuery query) {
+        String segment = segmentOf(query.type(), query.age());
+        int voice = usageOf(query.voice());
+        int data = usageOf(query.data());
+        int sms = usageOf(query.sms());
+        if (segment == null || !current.covers(segment) || voice < 0 || data < 0 || sms < 0) {
+            unsupportedMisses.increment();
+            return Optional.empty();
+        }
+
+        return Optional.of(current.find(segment, voice, data, sms));
+    }
+
+    static String segment(String type, String ageGroup) {
+        return type + ":" + ageGroup;
+    }
+
+    private static String segmentOf(String type, String age) {
+        if (type == null || !TYPES.contains(type) || age == null) {
+            return null;
+        }
+        try {
+            int years = Integer.parseInt(age);
+            // cleanNumericValue는 연령대(18/20/65) 또는 실제 나이를 넘겨주므로 같은 구간으로 맞춤
+            String ageGroup = years < 20 ? "18" : years < 65 ? "20" : "65";
+            return segment(type, ageGroup);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static int usageOf(String value) {
+        if (value == null || value.isBlank()) {
+            return 0;
+        }
+        try {
+            long amount = Long.parseLong(value);
+            return (int) Math.min(PlanUsage.UNLIMITED, Math.max(0, amount));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.together.server.infra.smartchoice;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "smartchoice.catalog")
+public record SmartChoiceCatalogProperties(
+        boolean enabled,
+        long refreshInterval,
+        long refreshTimeout,
+        long initialDelay,
+        long maxAge,
+        String snapshotPath
+) {
+}
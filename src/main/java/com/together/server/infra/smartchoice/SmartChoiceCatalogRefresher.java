@@ -0,0 +1,149 @@
+package com.together.server.infra.smartchoice;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.together.server.domain.plan.SmartChoicePlan;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * SmartChoice 전체 요금제 스냅샷을 주기적으로 받아 SmartChoiceCatalog에 반영하고 파일로 저장합니다.
+ * - 통신망(2/3/6) × 연령대(18/20/65) 조합마다 사용량 0으로 조회해 조합별로 가입 가능한 요금제 전체를 모음
+ * - 한 조합이라도 실패하거나 비어 있으면 이전 스냅샷을 유지
+ * - 기동 시 저장된 파일이 있으면 먼저 읽어 두므로, 재시작 직후에도 원격 API 없이 바로 응답 가능
+ * - 조회는 구독만 걸고 바로 반환하므로 스케줄러 스레드를 잡고 있지 않으며, smartchoice.catalog.refresh-timeout을 넘기면 포기
+ */
+@Component
+@Slf4j
+public class SmartChoiceCatalogRefresher {
+
+    private static final String NO_USAGE = "0";
+
+    private final SmartChoiceClient smartChoiceClient;
+    private final SmartChoiceCatalog catalog;
+    private final SmartChoiceCatalogProperties properties;
+    private final ObjectMapper objectMapper;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    public SmartChoiceCatalogRefresher(
+            SmartChoiceClient smartChoiceClient,
+            SmartChoiceCatalog catalog,
+            SmartChoiceCatalogProperties properties,
+            ObjectMapper objectMapper
+    ) {
+        this.smartChoiceClient = smartChoiceClient;
+        this.catalog = catalog;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    public void loadSnapshot() {
+        if (!properties.enabled()) return;
+
+        Path path = Path.of(properties.snapshotPath());
+        if (!Files.exists(path)) return;
+
+        try {
+            CatalogSnapshot snapshot = objectMapper.readValue(path.toFile(), CatalogSnapshot.class);
+            if (snapshot.version() != CatalogSnapshot.VERSION) {
+                log.info("SmartChoice 요금제 스냅샷 형식이 달라 다음 갱신을 기다립니다 - version {}", snapshot.version());
+                return;
+            }
+            catalog.publish(snapshot);
+            log.info("SmartChoice 요금제 스냅샷 로드 - {}개, 생성 시각 {}", snapshot.entries().size(), snapshot.createdAt());
+        } catch (IOException e) {
+            log.warn("SmartChoice 요금제 스냅샷 파일을 읽지 못했습니다: {}", path, e);
+        }
+    }
+
+    @Scheduled(
+            fixedDelayString = "${smartchoice.catalog.refresh-interval}",
+            initialDelayString = "${smartchoice.catalog.initial-delay}"
+    )
+    public void refresh() {
+        if (!properties.enabled()) return;
+        // 이전 갱신이 아직 진행 중이면 겹쳐서 조회하지 않음
+        if (!refreshing.compareAndSet(false, true)) return;
+
+        List<String> segments = new ArrayList<>();
+        for (String type : SmartChoiceCatalog.TYPES) {
+            for (String ageGroup : SmartChoiceCatalog.AGE_GROUPS) {
+                segments.add(SmartChoiceCatalog.segment(type, ageGroup));
+            }
+        }
+
+        // 공공 API에 부담을 주지 않도록 조합별로 순서대로 조회
+        Flux.fromIterable(segments)
+                .concatMap(segment -> {
+                    String[] parts = segment.split(":");
+                    PlanQuery query = new PlanQuery(NO_USAGE, NO_USAGE, NO_USAGE, parts[1], parts[0]);
+                    return smartChoiceClient.fetchPlans(query).map(plans -> Map.entry(segment, plans));
+                })
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue, LinkedHashMap::new)
+                .timeout(Duration.ofMillis(properties.refreshTimeout()))
+                // 인덱스 생성과 파일 저장은 Netty 이벤트 루프 밖에서 실행
+                .publishOn(Schedulers.boundedElastic())
+                .doFinally(signal -> refreshing.set(false))
+                .subscribe(
+                        fetched -> apply(segments, fetched),
+                        e -> log.warn("SmartChoice 요금제 스냅샷 조회 실패 - 이전 스냅샷을 유지합니다.", e)
+                );
+    }
+
+    private void apply(List<String> segments, Map<String, List<SmartChoicePlan>> fetched) {
+        if (fetched.size() < segments.size()
+                || fetched.values().stream().anyMatch(List::isEmpty)) {
+            log.warn("SmartChoice 요금제 스냅샷 갱신 실패 - 이전 스냅샷을 유지합니다.");
+            return;
+        }
+
+        CatalogSnapshot snapshot = toSnapshot(fetched);
+        catalog.publish(snapshot);
+        persist(snapshot);
+        log.info("SmartChoice 요금제 스냅샷 갱신 - {}개", snapshot.entries().size());
+    }
+
+    private CatalogSnapshot toSnapshot(Map<String, List<SmartChoicePlan>> fetched) {
+        Map<SmartChoicePlan, Set<String>> segmentsByPlan = new LinkedHashMap<>();
+        fetched.forEach((segment, plans) -> {
+            for (SmartChoicePlan plan : plans) {
+                segmentsByPlan.computeIfAbsent(plan, key -> new LinkedHashSet<>()).add(segment);
+            }
+        });
+
+        List<CatalogSnapshot.Entry> entries = new ArrayList<>(segmentsByPlan.size());
+        segmentsByPlan.forEach((plan, segments) -> entries.add(new CatalogSnapshot.Entry(plan, segments)));
+        return new CatalogSnapshot(CatalogSnapshot.VERSION, System.currentTimeMillis(), entries);
+    }
+
+    private void persist(CatalogSnapshot snapshot) {
+        Path path = Path.of(properties.snapshotPath());
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            // 쓰는 도중 재시작되어도 이전 파일이 깨지지 않도록 임시 파일에 쓴 뒤 교체
+            Path temp = Files.createTempFile(parent, "smartchoice-catalog", ".tmp");
+            objectMapper.writeValue(temp.toFile(), snapshot);
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("SmartChoice 요금제 스냅샷 저장 실패: {}", path, e);
+        }
+    }
+}
@@ -1,67 +1,151 @@
 package com.together.server.infra.smartchoice;
 
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.together.server.domain.plan.SmartChoicePlan;
+import com.together.server.infra.resilience.UpstreamGuard;
+import com.together.server.infra.singleflight.SingleFlight;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.util.List;
-import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * SmartChoice 요금제 조회 API 클라이언트입니다.
+ * 요금제 스냅샷(SmartChoiceCatalog)이 최신이면 원격 API를 호출하지 않고 인덱스에서 바로 응답하며,
+ * 스냅샷이 오래되었거나 없을 때만 아래 캐시를 거쳐 원격 API를 호출합니다.
+ * 조회 조건을 구간 단위로 묶은 PlanQuery를 키로, 파싱된 요금제 목록을 smartchoice.cache 설정에 따라 캐시합니다.
+ * - hit/miss와 항목 수는 cache.* 메트릭(cache=smartchoicePlans), API 호출 시간은 smartchoice.plans.load로 확인할 수 있습니다.
+ * - 호출 실패나 빈 응답은 캐시하지 않습니다.
+ * - 캐시 미스 상태에서 같은 조건으로 동시에 들어온 조회는 SingleFlight로 한 번만 호출합니다.
+ * - 원격 호출은 smartchoice bulkhead와 서킷 브레이커를 거치며, 실패하면 마지막 스냅샷에서 찾은 요금제로 대신 응답합니다.
+ */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class SmartChoiceClient {
 
-    @Qualifier("smartChoiceWebClient")
+    private static final String CACHE_NAME = "smartchoicePlans";
+
     private final WebClient smartChoiceWebClient;
     private final SmartChoiceXmlParser xmlParser;
+    private final SmartChoiceCatalog catalog;
+    private final Cache<PlanQuery, List<SmartChoicePlan>> planCache;
+    private final Timer loadTimer;
+    private final SingleFlight<PlanQuery, List<SmartChoicePlan>> planFlights;
+    private final UpstreamGuard guard;
 
     @Value("${smartchoice.api.key}")
     private String authKey;
 
-    public List<Map<String, String>> getPlans(String voice, String data, String sms, String age, String type) {
+    public SmartChoiceClient(
+            @Qualifier("smartChoiceWebClient") WebClient smartChoiceWebClient,
+            SmartChoiceXmlParser xmlParser,
+            SmartChoiceCatalog catalog,
+            SmartChoiceCacheProperties cacheProperties,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            BulkheadRegistry bulkheadRegistry,
+            MeterRegistry meterRegistry
+    ) {
+        this.smartChoiceWebClient = smartChoiceWebClient;
+        this.xmlParser = xmlParser;
+        this.catalog = catalog;
+        this.planCache = Caffeine.newBuilder()
+                .maximumSize(cacheProperties.maximumSize())
+                .expireAfterWrite(Duration.ofMillis(cacheProperties.expireAfterWrite()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, planCache, CACHE_NAME);
+        this.loadTimer = Timer.builder("smartchoice.plans.load")
+                .description("캐시 미스 시 SmartChoice API 호출과 XML 파싱에 걸린 시간")
+                .register(meterRegistry);
+        this.planFlights = new SingleFlight<>("smartchoice", meterRegistry);
+        this.guard = new UpstreamGuard("smartchoice", circuitBreakerRegistry, bulkheadRegistry, meterRegistry);
+    }
+
+    public Mono<List<SmartChoicePlan>> getPlans(String voice, String data, String sms, String age, String type) {
+        PlanQuery query = PlanQuery.of(voice, data, sms, age, type);
+
+        Optional<List<SmartChoicePlan>> local = catalog.find(query);
+        if (local.isPresent()) {
+            return Mono.just(local.get());
+        }
+        List<SmartChoicePlan> cached = planCache.getIfPresent(query);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return planFlights.execute(query, () -> fetchPlans(query))
+                .onErrorResume(e -> {
+                    if (UpstreamGuard.isRejected(e)) {
+                        log.warn("SmartChoice API 호출 제한 - {}", e.getMessage());
+                    } else {
+                        log.error("SmartChoice API 호출 실패", e);
+                    }
+                    return Mono.just(catalog.findLastKnown(query).orElse(List.of()));
+                });
+    }
+
+    /**
+     * 캐시와 스냅샷을 거치지 않고 원격 API를 호출합니다. 호출 실패는 그대로 전달합니다.
+     */
+    Mono<List<SmartChoicePlan>> fetchPlans(PlanQuery query) {
         String url = "/openAPI.xml";
 
-        try {
+        return guard.protect(Mono.defer(() -> {
             // API 호출 전 로깅
-            log.info("SmartChoice API 호출 - voice: {}, data: {}, sms: {}, age: {}, type: {}, authKey: {}",
-                    voice, data, sms, age, type, authKey);
+            log.info("SmartChoice API 호출 - voice: {}, data: {}, sms: {}, age: {}, type: {}",
+                    query.voice(), query.data(), query.sms(), query.age(), query.type());
 
-            String xmlResponse = smartChoiceWebClient.get()
+            long startedAt = System.nanoTime();
+            return smartChoiceWebClient.get()
                     .uri(uriBuilder -> uriBuilder
                             .path(url)
-                            .queryParam("voice", voice)
-                            .queryParam("data", data)
-                            .queryParam("sms", sms)
-                            .queryParam("age", age)
-                            .queryParam("type", type)
+                            .queryParam("voice", query.voice())
+                            .queryParam("data", query.data())
+                            .queryParam("sms", query.sms())
+                            .queryParam("age", query.age())
+                            .queryParam("type", query.type())
                             .queryParam("authkey", authKey)
                             .build())
                     .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
-
-            log.info("SmartChoice API 응답: {}", xmlResponse);
-
-            if (xmlResponse == null || xmlResponse.trim().isEmpty()) {
-                log.error("SmartChoice API 응답이 비어있습니다.");
-                return List.of();
-            }
-
-            if (xmlResponse.trim().toLowerCase().startsWith("<!doctype") ||
-                    xmlResponse.trim().toLowerCase().startsWith("<html")) {
-                log.error("SmartChoice API에서 HTML 응답을 받았습니다. XML이 아닙니다: {}", xmlResponse);
-                return List.of();
-            }
-
-            return xmlParser.parsePlans(xmlResponse);
+                    .bodyToFlux(DataBuffer.class)
+                    .as(DataBufferUtils::join)
+                    .map(this::parseResponse)
+                    .switchIfEmpty(Mono.fromSupplier(() -> {
+                        log.error("SmartChoice API 응답이 비어있습니다.");
+                        return List.of();
+                    }))
+                    .doOnNext(plans -> {
+                        loadTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                        if (!plans.isEmpty()) {
+                            planCache.put(query, plans);
+                        }
+                    });
+        }));
+    }
 
-        } catch (Exception e) {
-            log.error("SmartChoice API 호출 실패", e);
-            return List.of(); // 빈 리스트 반환
+    private List<SmartChoicePlan> parseResponse(DataBuffer body) {
+        // 스트림을 닫을 때 버퍼도 함께 해제됨
+        try (InputStream in = body.asInputStream(true)) {
+            return xmlParser.parsePlans(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
     }
-}
\ No newline at end of file
+}
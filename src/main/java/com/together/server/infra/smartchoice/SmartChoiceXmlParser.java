@@ -1,76 +1,163 @@
 package com.together.server.infra.smartchoice;
 
+import com.together.server.domain.plan.SmartChoicePlan;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
-import org.w3c.dom.*;
-import javax.xml.parsers.DocumentBuilderFactory;
-import java.io.ByteArrayInputStream;
-import java.util.*;
 
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SmartChoice openAPI.xml 응답을 StAX로 한 번만 훑으면서 item마다 SmartChoicePlan을 바로 만듭니다.
+ * 월요금과 통화/데이터/문자 제공량은 이때 숫자로 읽어 두므로, 요금제 인덱스는 문구를 다시 파싱하지 않습니다.
+ * DOM을 만들지 않으므로 응답 크기에 비례한 시간과 item 하나 분량의 메모리만 사용합니다.
+ * XMLInputFactory는 생성 비용이 커서 한 번만 만들어 재사용하며, DTD와 외부 엔티티는 읽지 않습니다.
+ */
 @Component
 @Slf4j
 public class SmartChoiceXmlParser {
 
-    public List<Map<String, String>> parsePlans(String xml) {
-        List<Map<String, String>> result = new ArrayList<>();
+    private static final String ITEM = "item";
+
+    private final XMLInputFactory inputFactory;
+
+    public SmartChoiceXmlParser() {
+        this.inputFactory = XMLInputFactory.newFactory();
+        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        inputFactory.setProperty(XMLInputFactory.IS_COALESCING, false);
+    }
+
+    /**
+     * 응답 스트림을 끝까지 읽어 요금제 목록을 반환합니다. HTML 오류 페이지이거나 XML이 깨져 있으면 빈 목록을 반환합니다.
+     * 응답의 요금제 순서가 보장되지 않으므로 최저가 요금제를 찾았더라도 중간에 멈추지 않습니다.
+     */
+    public List<SmartChoicePlan> parsePlans(InputStream xml) {
+        List<SmartChoicePlan> plans = new ArrayList<>();
+        XMLStreamReader reader = null;
 
         try {
-            // XML 전처리 - BOM 제거 및 트림
-            String cleanedXml = xml.trim();
-            if (cleanedXml.startsWith("\uFEFF")) {
-                cleanedXml = cleanedXml.substring(1);
-            }
+            // 인코딩과 BOM은 XML 선언을 보고 StAX가 처리
+            reader = inputFactory.createXMLStreamReader(xml);
 
-            log.info("파싱할 XML 앞 200자: {}", cleanedXml.substring(0, Math.min(200, cleanedXml.length())));
+            PlanBuilder current = null;
+            String field = null;
+            StringBuilder text = new StringBuilder();
+            boolean rootVisited = false;
 
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            factory.setNamespaceAware(true);
-            factory.setValidating(false);
-            factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+            while (reader.hasNext()) {
+                switch (reader.next()) {
+                    case XMLStreamConstants.START_ELEMENT -> {
+                        String name = reader.getLocalName();
+                        if (!rootVisited) {
+                            rootVisited = true;
+                            if ("html".equalsIgnoreCase(name)) {
+                                log.error("SmartChoice API에서 HTML 응답을 받았습니다. XML이 아닙니다.");
+                                return List.of();
+                            }
+                        }
+                        if (ITEM.equals(name)) {
+                            current = new PlanBuilder();
+                        } else if (current != null && field == null && PlanBuilder.isField(name)) {
+                            field = name;
+                            text.setLength(0);
+                        }
+                    }
+                    case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA -> {
+                        if (field != null) {
+                            text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                        }
+                    }
+                    case XMLStreamConstants.END_ELEMENT -> {
+                        String name = reader.getLocalName();
+                        if (field != null && field.equals(name)) {
+                            current.set(field, text.toString().trim());
+                            field = null;
+                        } else if (current != null && ITEM.equals(name)) {
+                            plans.add(current.build());
+                            current = null;
+                        }
+                    }
+                    default -> {
+                        // 주석, 공백 등은 무시
+                    }
+                }
+            }
+        } catch (XMLStreamException e) {
+            log.error("SmartChoice XML 파싱 실패", e);
+            return List.of();
+        } finally {
+            close(reader);
+        }
 
-            Document doc = factory.newDocumentBuilder().parse(new ByteArrayInputStream(cleanedXml.getBytes("UTF-8")));
-            doc.getDocumentElement().normalize();
+        log.debug("SmartChoice 요금제 {}개 파싱", plans.size());
+        return plans;
+    }
 
-            log.info("XML 루트 요소: {}", doc.getDocumentElement().getNodeName());
+    private void close(XMLStreamReader reader) {
+        if (reader == null) return;
+        try {
+            reader.close();
+        } catch (XMLStreamException e) {
+            log.warn("XMLStreamReader 종료 실패", e);
+        }
+    }
 
-            NodeList itemList = doc.getElementsByTagName("item");
-            log.info("찾은 item 개수: {}", itemList.getLength());
+    private static final class PlanBuilder {
 
-            for (int i = 0; i < itemList.getLength(); i++) {
-                Node itemNode = itemList.item(i);
-                if (itemNode.getNodeType() == Node.ELEMENT_NODE) {
-                    Element element = (Element) itemNode;
-                    Map<String, String> planData = new HashMap<>();
+        private String telecom = "";
+        private String planName = "";
+        private String price = "";
+        private String voice = "";
+        private String data = "";
+        private String sms = "";
 
-                    planData.put("telecom", getTagValue("v_tel", element));
-                    planData.put("planName", getTagValue("v_plan_name", element));
-                    planData.put("price", getTagValue("v_plan_price", element));
-                    planData.put("voice", getTagValue("v_plan_display_voice", element));
-                    planData.put("data", getTagValue("v_plan_display_data", element));
-                    planData.put("sms", getTagValue("v_plan_display_sms", element));
+        static boolean isField(String tag) {
+            return switch (tag) {
+                case "v_tel", "v_plan_name", "v_plan_price",
+                     "v_plan_display_voice", "v_plan_display_data", "v_plan_display_sms" -> true;
+                default -> false;
+            };
+        }
 
-                    log.info("파싱된 요금제 {}: {}", i, planData);
-                    result.add(planData);
+        void set(String tag, String value) {
+            switch (tag) {
+                case "v_tel" -> telecom = value;
+                case "v_plan_name" -> planName = value;
+                case "v_plan_price" -> price = value;
+                case "v_plan_display_voice" -> voice = value;
+                case "v_plan_display_data" -> data = value;
+                case "v_plan_display_sms" -> sms = value;
+                default -> {
                 }
             }
-
-        } catch (Exception e) {
-            log.error("SmartChoice XML 파싱 실패 - XML 내용: {}", xml, e);
         }
 
-        return result;
-    }
+        SmartChoicePlan build() {
+            return new SmartChoicePlan(planName, data, voice, sms, telecom, parsePrice(price),
+                    PlanUsage.dataMegabytes(data), PlanUsage.voiceMinutes(voice), PlanUsage.smsCount(sms));
+        }
 
-    private String getTagValue(String tag, Element element) {
-        try {
-            NodeList nodeList = element.getElementsByTagName(tag);
-            if (nodeList.getLength() == 0) return "";
-            Node node = nodeList.item(0);
-            if (node == null || node.getFirstChild() == null) return "";
-            return node.getFirstChild().getNodeValue();
-        } catch (Exception e) {
-            log.warn("태그 {} 파싱 실패", tag, e);
-            return "";
+        // "33,000"처럼 구분 기호가 섞여 있어도 숫자만 읽고, 숫자가 없으면 가장 비싼 요금제로 취급
+        private static int parsePrice(String raw) {
+            long value = 0;
+            boolean hasDigit = false;
+            for (int i = 0; i < raw.length(); i++) {
+                char c = raw.charAt(i);
+                if (c >= '0' && c <= '9') {
+                    value = value * 10 + (c - '0');
+                    hasDigit = true;
+                    if (value >= SmartChoicePlan.UNKNOWN_PRICE) {
+                        return SmartChoicePlan.UNKNOWN_PRICE;
+                    }
+                }
+            }
+            return hasDigit ? (int) value : SmartChoicePlan.UNKNOWN_PRICE;
         }
     }
-}
\ No newline at end of file
+}
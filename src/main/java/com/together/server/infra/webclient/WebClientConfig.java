@@ -1,10 +1,22 @@
 package com.together.server.infra.webclient;
 
+import io.netty.channel.ChannelOption;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
+import java.time.Duration;
+
+/**
+ * 외부 API별 WebClient 설정입니다.
+ * upstream마다 전용 ConnectionProvider를 두어 한쪽이 느려져도 다른 쪽 커넥션을 잠식하지 않으며,
+ * 풀 상태(active, idle, pending acquire)는 reactor.netty.connection.provider.* 메트릭으로 노출됩니다.
+ */
 @Configuration
 public class WebClientConfig {
 
@@ -12,19 +24,48 @@ public class WebClientConfig {
     private String openaiApiKey;
 
     @Bean(name = "openaiWebClient")
-    public WebClient openaiWebClient() {
+    public WebClient openaiWebClient(WebClientProperties properties) {
         return WebClient.builder()
-                .baseUrl("https://api.openai.com/v1/chat/completions")
+                .baseUrl(properties.openai().baseUrl())
+                .clientConnector(new ReactorClientHttpConnector(httpClient("openai", properties.openai())))
                 .defaultHeader("Authorization", "Bearer " + openaiApiKey)
                 .defaultHeader("Content-Type", "application/json")
                 .build();
     }
 
     @Bean(name = "smartChoiceWebClient")
-    public WebClient smartChoiceWebClient() {
+    public WebClient smartChoiceWebClient(WebClientProperties properties) {
         return WebClient.builder()
-                .baseUrl("https://api.smartchoice.or.kr/api")
+                .baseUrl(properties.smartchoice().baseUrl())
+                .clientConnector(new ReactorClientHttpConnector(httpClient("smartchoice", properties.smartchoice())))
                 .defaultHeader("Content-Type", "application/xml")
                 .build();
     }
-}
\ No newline at end of file
+
+    private HttpClient httpClient(String name, WebClientProperties.Upstream upstream) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder(name)
+                .maxConnections(upstream.maxConnections())
+                .pendingAcquireMaxCount(upstream.pendingAcquireMaxCount())
+                .pendingAcquireTimeout(Duration.ofMillis(upstream.pendingAcquireTimeout()))
+                .maxIdleTime(Duration.ofMillis(upstream.maxIdleTime()))
+                .maxLifeTime(Duration.ofMillis(upstream.maxLifeTime()))
+                .evictInBackground(Duration.ofMillis(upstream.evictionInterval()))
+                .metrics(true)
+                .build();
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, upstream.connectTimeout())
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .keepAlive(true)
+                .responseTimeout(Duration.ofMillis(upstream.responseTimeout()))
+                .compress(true);
+
+        if (upstream.http2()) {
+            // HTTP/2는 TLS(ALPN) 협상이 필요하며, 지원하지 않는 서버와는 HTTP/1.1로 연결됨
+            httpClient = httpClient
+                    .secure()
+                    .protocol(HttpProtocol.H2, HttpProtocol.HTTP11);
+        }
+        return httpClient;
+    }
+}
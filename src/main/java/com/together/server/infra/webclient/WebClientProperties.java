@@ -0,0 +1,27 @@
+package com.together.server.infra.webclient;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 외부 API(upstream)별 주소, 커넥션 풀과 타임아웃 설정입니다. 시간 단위는 모두 ms입니다.
+ */
+@ConfigurationProperties(prefix = "webclient")
+public record WebClientProperties(
+        Upstream openai,
+        Upstream smartchoice
+) {
+
+    public record Upstream(
+            String baseUrl,
+            int maxConnections,
+            int pendingAcquireMaxCount,
+            long pendingAcquireTimeout,
+            long maxIdleTime,
+            long maxLifeTime,
+            long evictionInterval,
+            int connectTimeout,
+            long responseTimeout,
+            boolean http2
+    ) {
+    }
+}
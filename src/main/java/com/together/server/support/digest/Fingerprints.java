@@ -0,0 +1,45 @@
+package com.together.server.support.digest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.regex.Pattern;
+
+/**
+ * 긴 요청 문자열을 그대로 키로 들고 있지 않도록 공백을 정리한 뒤 SHA-256 지문으로 바꿉니다.
+ * single-flight 키(프롬프트), 스미싱 분석 캐시 키(정규화한 문자 내용), JWT claims 캐시 키(토큰)가 같은 구현을 씁니다.
+ */
+public final class Fingerprints {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private Fingerprints() {
+    }
+
+    /**
+     * 앞뒤 공백을 제거하고 연속 공백(줄바꿈 포함)을 하나로 합칩니다.
+     */
+    public static String normalizeWhitespace(String text) {
+        return WHITESPACE.matcher(text.strip()).replaceAll(" ");
+    }
+
+    /**
+     * 공백을 정리한 문자열의 SHA-256 값을 Base64로 돌려줍니다.
+     */
+    public static String of(String text) {
+        return sha256(normalizeWhitespace(text));
+    }
+
+    /**
+     * 문자열을 바꾸지 않고 그대로 SHA-256 값을 Base64로 돌려줍니다. 토큰처럼 한 글자만 달라도 다른 값이어야 할 때 사용합니다.
+     */
+    public static String sha256(String text) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -9,6 +9,7 @@ public enum ErrorType {
 
     // 공통
     INTERNAL_SERVER_ERROR(50000, HttpStatus.INTERNAL_SERVER_ERROR, "서버 내 예상치 못한 오류가 발생했습니다.", LogLevel.ERROR),
+    UPSTREAM_UNAVAILABLE(50300, HttpStatus.SERVICE_UNAVAILABLE, "외부 서비스 요청이 많아 잠시 처리할 수 없습니다. 잠시 후 다시 시도해주세요.", LogLevel.WARN),
     UNAUTHORIZED(40001, HttpStatus.UNAUTHORIZED, "인증되지 않은 사용자입니다.", LogLevel.WARN),
     FORBIDDEN(40003, HttpStatus.FORBIDDEN, "접근 권한이 없습니다.", LogLevel.WARN),
 
@@ -0,0 +1,63 @@
+package com.together.server.application.smishing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class AhoCorasickTest {
+
+    @Test
+    void findsOverlappingKeywordsThroughFailureLinks() {
+        AhoCorasick<String> matcher = build("he", "she", "his", "hers");
+
+        // "she"에서 "he"의 출력을 물려받고, 'r'에서 막히면 "he"로 넘어가 "hers"까지 이어서 찾음
+        assertThat(search(matcher, "ushers")).containsExactly("she", "he", "hers");
+    }
+
+    @Test
+    void continuesFromLongestSuffixAfterMismatch() {
+        AhoCorasick<String> matcher = build("abcd", "bce");
+
+        assertThat(search(matcher, "abce")).containsExactly("bce");
+        assertThat(search(matcher, "xabcdx")).containsExactly("abcd");
+    }
+
+    @Test
+    void reportsKeywordContainedInLongerKeyword() {
+        AhoCorasick<String> matcher = build("결제대금", "대금", "택배", "택배사");
+
+        assertThat(search(matcher, "택배사결제대금연체")).containsExactly("택배", "택배사", "결제대금", "대금");
+    }
+
+    @Test
+    void reportsEveryOccurrence() {
+        AhoCorasick<String> matcher = build("연체", "체납");
+
+        assertThat(search(matcher, "연체연체납")).containsExactly("연체", "연체", "체납");
+    }
+
+    @Test
+    void findsNothingWithoutKeywords() {
+        assertThat(search(build("택배"), "주문이접수되었습니다")).isEmpty();
+        assertThat(search(build(), "택배")).isEmpty();
+        assertThat(search(build("택배"), "")).isEmpty();
+    }
+
+    private static AhoCorasick<String> build(String... keywords) {
+        Map<String, String> payloads = new LinkedHashMap<>();
+        for (String keyword : keywords) {
+            payloads.put(keyword, keyword);
+        }
+        return AhoCorasick.build(payloads);
+    }
+
+    private static List<String> search(AhoCorasick<String> matcher, String text) {
+        List<String> hits = new ArrayList<>();
+        matcher.search(text, hits::add);
+        return hits;
+    }
+}
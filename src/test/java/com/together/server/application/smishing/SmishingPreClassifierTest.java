@@ -0,0 +1,132 @@
+package com.together.server.application.smishing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvFileSource;
+
+/**
+ * "높음"은 LLM 없이 바로 응답하므로, 라벨이 붙은 문자 모음에서 정상 문자(은행, 카드, 택배 안내 등)는 하나도 "높음"이 되면 안 됩니다.
+ * blockedLinks는 차단 목록에 있는 링크(쉼표 구분), expected는 HIGH 또는 ESCALATE
+ */
+class SmishingPreClassifierTest {
+
+    private static final String FIXTURE = "/smishing/labeled-messages.csv";
+    private static final double HIGH_CONFIDENCE = 0.85;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SmishingPreClassifier classifier = new SmishingPreClassifier(
+            new SmishingPreClassifierProperties(true, HIGH_CONFIDENCE), meterRegistry);
+
+    @ParameterizedTest(name = "[{2}] {0} -> {3}")
+    @CsvFileSource(resources = FIXTURE, numLinesToSkip = 1, delimiter = '|')
+    void classifiesLabeledFixture(String message, String blockedLinks, String label, SmishingVerdict.Level expected) {
+        SmishingVerdict verdict = classifier.classify(message, links(blockedLinks));
+
+        assertThat(verdict.level()).isEqualTo(expected);
+        assertThat(verdict.analysis() != null).isEqualTo(verdict.isLocal());
+    }
+
+    @Test
+    void answersNoLegitimateMessageLocally() throws IOException {
+        int legitimate = 0;
+        int falsePositives = 0;
+        int smishing = 0;
+        int answeredLocally = 0;
+        for (String[] row : fixture()) {
+            boolean local = classifier.classify(row[0], links(row[1])).isLocal();
+            if (row[2].equals("legit")) {
+                legitimate++;
+                falsePositives += local ? 1 : 0;
+            } else {
+                smishing++;
+                answeredLocally += local ? 1 : 0;
+            }
+        }
+
+        String report = String.format("정상 %d건 중 오탐 %d건, 스미싱 %d건 중 로컬 응답 %d건",
+                legitimate, falsePositives, smishing, answeredLocally);
+        assertThat(falsePositives).as(report).isZero();
+        assertThat(answeredLocally * 2).as(report).isGreaterThanOrEqualTo(smishing);
+    }
+
+    @Test
+    void keepsKeywordOnlyMessagesForLlmEvenAboveThreshold() {
+        SmishingVerdict verdict = classifier.classify("고객센터 결제대금 연체, 인증번호와 보안카드 번호를 알려주세요", List.of());
+
+        assertThat(verdict.confidence()).isGreaterThanOrEqualTo(HIGH_CONFIDENCE);
+        assertThat(verdict.level()).isEqualTo(SmishingVerdict.Level.ESCALATE);
+        assertThat(verdict.reasons()).hasSize(4);
+    }
+
+    @Test
+    void answersLocallyFromThresholdInclusive() {
+        // 기관 사칭(3) + IP 링크(1 + 4) = 8점, 신뢰도 1 - e^(-2)
+        double confidence = 1 - Math.exp(-2);
+        SmishingPreClassifier atThreshold = new SmishingPreClassifier(
+                new SmishingPreClassifierProperties(true, confidence), meterRegistry);
+
+        SmishingVerdict verdict = atThreshold.classify("건강보험공단 결과 확인 http://203.0.113.7/check", List.of());
+
+        assertThat(verdict.level()).isEqualTo(SmishingVerdict.Level.HIGH);
+        assertThat(verdict.confidence()).isEqualTo(confidence);
+        // 기관 사칭(3) + 단축 URL(1 + 3) = 7점은 기준 미만
+        assertThat(atThreshold.classify("택배 보관중 han.gl/aBcD", List.of()).level())
+                .isEqualTo(SmishingVerdict.Level.ESCALATE);
+    }
+
+    @Test
+    void blockedLinkAloneIsEnoughForHigh() {
+        SmishingVerdict verdict = classifier.classify("확인 부탁드립니다 parcel-track.com/k", List.of("parcel-track.com"));
+
+        assertThat(verdict.level()).isEqualTo(SmishingVerdict.Level.HIGH);
+        assertThat(verdict.analysis()).contains("신고된 악성 링크", "parcel-track.com");
+    }
+
+    @Test
+    void escalatesEverythingWhenDisabled() {
+        SmishingPreClassifier disabled = new SmishingPreClassifier(
+                new SmishingPreClassifierProperties(false, HIGH_CONFIDENCE), meterRegistry);
+
+        SmishingVerdict verdict = disabled.classify("[국제발신] CJ대한통운 주소불명으로 반송예정 bit.ly/3xYz9", List.of());
+
+        assertThat(verdict.level()).isEqualTo(SmishingVerdict.Level.ESCALATE);
+        assertThat(verdict.confidence()).isZero();
+    }
+
+    @Test
+    void countsVerdictsByLevel() {
+        classifier.classify("[국제발신] CJ대한통운 주소불명으로 반송예정 bit.ly/3xYz9", List.of());
+        classifier.classify("[쿠팡] 주문하신 상품이 배송 완료되었습니다.", List.of());
+        classifier.classify("엄마나 폰액정이깨져서 이번호로문자해", List.of());
+
+        assertThat(verdicts("high")).isEqualTo(1);
+        assertThat(verdicts("escalate")).isEqualTo(2);
+        assertThat(meterRegistry.get("smishing.preclassifier.latency").timer().count()).isEqualTo(3);
+    }
+
+    private double verdicts(String level) {
+        return meterRegistry.get("smishing.preclassifier.verdicts").tag("level", level).counter().count();
+    }
+
+    private static List<String> links(String blockedLinks) {
+        return blockedLinks == null || blockedLinks.isBlank() ? List.of() : Arrays.asList(blockedLinks.split(","));
+    }
+
+    private static List<String[]> fixture() throws IOException {
+        try (InputStream in = SmishingPreClassifierTest.class.getResourceAsStream(FIXTURE)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8).lines()
+                    .skip(1)
+                    .filter(line -> !line.isBlank())
+                    .map(line -> line.split("\\|", -1))
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.together.server.domain.chat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvFileSource;
+
+/**
+ * 로컬 추출 결과는 LLM을 건너뛰므로, 말뭉치의 모든 답변에서 기대값과 정확히 같거나 LLM으로 넘겨야 합니다.
+ * expected가 LLM이면 빈 값, 아니면 "항목=값;항목=값" (항목 이름순)
+ */
+class KoreanConditionParserTest {
+
+    @ParameterizedTest(name = "{0} -> {2}")
+    @CsvFileSource(resources = "/chat/condition-corpus.csv", numLinesToSkip = 1, delimiter = '|')
+    void parsesGoldenCorpus(String reply, String lastQuestion, String expected) {
+        Optional<Map<String, String>> parsed = KoreanConditionParser.parse(reply, lastQuestion);
+
+        assertThat(parsed.map(KoreanConditionParserTest::format).orElse("LLM")).isEqualTo(expected);
+    }
+
+    private static String format(Map<String, String> conditions) {
+        return new TreeMap<>(conditions).entrySet().stream()
+                .map(entry -> entry.getKey() + "=" + entry.getValue())
+                .collect(Collectors.joining(";"));
+    }
+}
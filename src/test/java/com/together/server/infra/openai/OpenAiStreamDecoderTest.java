@@ -0,0 +1,72 @@
+package com.together.server.infra.openai;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+class OpenAiStreamDecoderTest {
+
+    private static final String CHUNK_SUFFIX = "\"}}]}\n\n";
+
+    private final DefaultDataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+    private final OpenAiStreamDecoder decoder = new OpenAiStreamDecoder(new JsonFactory());
+
+    @Test
+    void decodesContentOfEachDataLine() {
+        List<String> contents = decoder.decode(buffer(chunk("안녕") + chunk("하세요")));
+
+        assertThat(contents).containsExactly("안녕", "하세요");
+    }
+
+    @Test
+    void joinsDataLineSplitAcrossBuffers() {
+        byte[] line = chunk("스미싱").getBytes(StandardCharsets.UTF_8);
+        int contentStart = chunk("").getBytes(StandardCharsets.UTF_8).length - CHUNK_SUFFIX.length();
+        // "data:" 접두어 중간과 첫 글자(UTF-8 3바이트)의 중간에서 자름
+        int prefixSplit = 3;
+        int multibyteSplit = contentStart + 1;
+
+        assertThat(decoder.decode(buffer(Arrays.copyOfRange(line, 0, prefixSplit)))).isEmpty();
+        assertThat(decoder.decode(buffer(Arrays.copyOfRange(line, prefixSplit, multibyteSplit)))).isEmpty();
+        assertThat(decoder.decode(buffer(Arrays.copyOfRange(line, multibyteSplit, line.length))))
+                .containsExactly("스미싱");
+    }
+
+    @Test
+    void keepsTrailingPartialLineForNextBuffer() {
+        String first = chunk("첫");
+        String second = chunk("둘째");
+        int split = second.length() / 2;
+
+        assertThat(decoder.decode(buffer(first + second.substring(0, split)))).containsExactly("첫");
+        assertThat(decoder.decode(buffer(second.substring(split)))).containsExactly("둘째");
+    }
+
+    @Test
+    void skipsDoneMarkerRoleDeltaAndCarriageReturn() {
+        String stream = "data: {\"choices\":[{\"delta\":{\"role\":\"assistant\"}}]}\r\n\r\n"
+                + "data: {\"choices\":[{\"delta\":{\"content\":\"끝\"}}]}\r\n\r\n"
+                + ": keep-alive\n\n"
+                + "data: [DONE]\n\n";
+
+        assertThat(decoder.decode(buffer(stream))).containsExactly("끝");
+    }
+
+    private static String chunk(String content) {
+        return "data: {\"id\":\"c1\",\"choices\":[{\"index\":0,\"delta\":{\"content\":\"" + content + CHUNK_SUFFIX;
+    }
+
+    private DataBuffer buffer(String text) {
+        return buffer(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private DataBuffer buffer(byte[] bytes) {
+        return bufferFactory.wrap(bytes);
+    }
+}
@@ -0,0 +1,93 @@
+package com.together.server.infra.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class UpstreamGuardTest {
+
+    private static final String UPSTREAM = "test";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    // application.yml의 기본 설정처럼 bulkhead 거절은 서킷 실패로 세지 않음
+    private final CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+            .ignoreExceptions(BulkheadFullException.class)
+            .build());
+    private final BulkheadRegistry bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+            .maxConcurrentCalls(1)
+            .maxWaitDuration(Duration.ZERO)
+            .build());
+    private final UpstreamGuard guard = new UpstreamGuard(UPSTREAM, circuitBreakerRegistry, bulkheadRegistry, meterRegistry);
+
+    @Test
+    void rejectsWithBulkheadFullWhileStreamHoldsTheOnlyPermit() {
+        Disposable stream = guard.protect(Flux.never()).subscribe();
+        try {
+            assertThatThrownBy(() -> guard.protect(Mono.just("plan")).block())
+                    .isInstanceOf(BulkheadFullException.class)
+                    .satisfies(error -> assertThat(UpstreamGuard.isRejected(error)).isTrue());
+        } finally {
+            stream.dispose();
+        }
+
+        assertThat(rejected("bulkhead_full")).isEqualTo(1);
+        assertThat(rejected("circuit_open")).isZero();
+        assertThat(circuitBreaker().getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker().getMetrics().getNumberOfFailedCalls()).isZero();
+        assertThat(guard.protect(Mono.just("plan")).block()).isEqualTo("plan");
+    }
+
+    @Test
+    void rejectsWithoutCallingUpstreamWhileCircuitIsOpen() {
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        circuitBreaker().transitionToOpenState();
+
+        assertThatThrownBy(() -> guard.protect(Mono.fromCallable(upstreamCalls::incrementAndGet)).block())
+                .isInstanceOf(CallNotPermittedException.class)
+                .satisfies(error -> assertThat(UpstreamGuard.isRejected(error)).isTrue());
+        assertThatThrownBy(() -> guard.call(upstreamCalls::incrementAndGet))
+                .isInstanceOf(CallNotPermittedException.class);
+
+        assertThat(upstreamCalls).hasValue(0);
+        assertThat(rejected("circuit_open")).isEqualTo(2);
+        assertThat(rejected("bulkhead_full")).isZero();
+        assertThat(bulkheadRegistry.bulkhead(UPSTREAM).getMetrics().getAvailableConcurrentCalls()).isEqualTo(1);
+    }
+
+    @Test
+    void doesNotTreatUpstreamFailureAsRejection() {
+        assertThatThrownBy(() -> guard.protect(Mono.error(new IllegalStateException("502"))).block())
+                .isInstanceOf(IllegalStateException.class)
+                .satisfies(error -> assertThat(UpstreamGuard.isRejected(error)).isFalse());
+
+        assertThat(rejected("circuit_open")).isZero();
+        assertThat(rejected("bulkhead_full")).isZero();
+        assertThat(circuitBreaker().getMetrics().getNumberOfFailedCalls()).isEqualTo(1);
+    }
+
+    private CircuitBreaker circuitBreaker() {
+        return circuitBreakerRegistry.circuitBreaker(UPSTREAM);
+    }
+
+    private double rejected(String reason) {
+        return meterRegistry.get("upstream.rejected")
+                .tag("upstream", UPSTREAM)
+                .tag("reason", reason)
+                .counter()
+                .count();
+    }
+}
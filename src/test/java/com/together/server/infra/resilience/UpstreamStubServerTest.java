@@ -0,0 +1,294 @@
+package com.together.server.infra.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.together.server.domain.plan.SmartChoicePlan;
+import com.together.server.infra.oauth.KakaoApiProperties;
+import com.together.server.infra.oauth.KakaoOAuthClient;
+import com.together.server.infra.oauth.KakaoOAuthConfig;
+import com.together.server.infra.openai.ChatCompletionTemplate;
+import com.together.server.infra.openai.OpenAiChatClient;
+import com.together.server.infra.openai.OpenAiMessage;
+import com.together.server.infra.smartchoice.SmartChoiceCacheProperties;
+import com.together.server.infra.smartchoice.SmartChoiceCatalog;
+import com.together.server.infra.smartchoice.SmartChoiceCatalogProperties;
+import com.together.server.infra.smartchoice.SmartChoiceClient;
+import com.together.server.infra.smartchoice.SmartChoiceXmlParser;
+import com.together.server.infra.webclient.WebClientConfig;
+import com.together.server.infra.webclient.WebClientProperties;
+import com.together.server.support.error.CoreException;
+import com.together.server.support.error.ErrorType;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.timeout.ReadTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * 실제 OpenAI, SmartChoice, 카카오 클라이언트를 로컬 stub 서버에 붙여
+ * WebClient/RestTemplate 타임아웃부터 bulkhead, 서킷 브레이커, 대체 응답까지 한 번에 확인합니다.
+ * stub 서버는 응답 지연과 상태 코드를 테스트마다 바꿔 끼울 수 있습니다.
+ */
+class UpstreamStubServerTest {
+
+    private static final long RESPONSE_TIMEOUT = 800;
+    private static final long BULKHEAD_WAIT = 300;
+    private static final String SSE_BODY = "data: {\"choices\":[{\"delta\":{\"role\":\"assistant\"}}]}\n\n"
+            + "data: {\"choices\":[{\"delta\":{\"content\":\"안녕\"}}]}\n\n"
+            + "data: {\"choices\":[{\"delta\":{\"content\":\"하세요\"}}]}\n\n"
+            + "data: [DONE]\n\n";
+    private static final String COMPLETION_BODY = "{\"choices\":[{\"message\":{\"content\":\"{\\\"voice\\\":\\\"100\\\"}\"}}]}";
+    private static final String PLANS_BODY = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <root><items><item>
+            <v_tel>SKT</v_tel><v_plan_name>알뜰 5G</v_plan_name><v_plan_price>33,000</v_plan_price>
+            <v_plan_display_voice>기본제공</v_plan_display_voice><v_plan_display_data>10GB</v_plan_display_data>
+            <v_plan_display_sms>기본제공</v_plan_display_sms>
+            </item></items></root>
+            """;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    // 두 번 연속 실패하면 서킷이 열리도록 창을 줄이고, 나머지는 application.yml의 기본 설정을 따름
+    private final CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+            .slidingWindowSize(2)
+            .minimumNumberOfCalls(2)
+            .failureRateThreshold(50)
+            .waitDurationInOpenState(Duration.ofMinutes(1))
+            .ignoreExceptions(BulkheadFullException.class)
+            .build());
+    private final BulkheadRegistry bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+            .maxConcurrentCalls(1)
+            .maxWaitDuration(Duration.ofMillis(BULKHEAD_WAIT))
+            .build());
+    private final StubServer server = new StubServer();
+
+    @AfterEach
+    void tearDown() {
+        server.dispose();
+    }
+
+    @Test
+    void openAiStreamTimesOutAndOpensCircuit() {
+        server.reply(HttpResponseStatus.OK, "text/event-stream", SSE_BODY, Duration.ofSeconds(3));
+        OpenAiChatClient client = openAiClient();
+        ChatCompletionTemplate template = client.prepareStreamingTemplate("요금제 상담");
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> client.streamChatCompletion(template, List.of(OpenAiMessage.user("요금제 추천"))).collectList().block())
+                    .hasRootCauseInstanceOf(ReadTimeoutException.class)
+                    .satisfies(error -> assertThat(UpstreamGuard.isRejected(error)).isFalse());
+        }
+        assertThat(circuitBreaker("openai").getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        assertThatThrownBy(() -> client.streamChatCompletion(template, List.of(OpenAiMessage.user("요금제 추천"))).collectList().block())
+                .isInstanceOf(CallNotPermittedException.class);
+        assertThat(server.hits()).isEqualTo(2);
+        assertThat(rejected("openai", "circuit_open")).isEqualTo(1);
+    }
+
+    @Test
+    void openAiRejectsWhenStreamHoldsPermitLongerThanBulkheadWait() throws Exception {
+        server.reply(HttpResponseStatus.OK, "text/event-stream", SSE_BODY, Duration.ofMillis(550));
+        OpenAiChatClient client = openAiClient();
+        ChatCompletionTemplate template = client.prepareStreamingTemplate("요금제 상담");
+
+        CompletableFuture<List<String>> stream = client.streamChatCompletion(template, List.of(OpenAiMessage.user("요금제 추천")))
+                .collectList()
+                .toFuture();
+        awaitUntil(() -> server.hits() == 1);
+
+        assertThatThrownBy(() -> client.extractUserConditions("하루 통화 100분").block())
+                .isInstanceOf(BulkheadFullException.class);
+        assertThat(stream.get(5, TimeUnit.SECONDS)).containsExactly("안녕", "하세요");
+
+        assertThat(server.hits()).isEqualTo(1);
+        assertThat(rejected("openai", "bulkhead_full")).isEqualTo(1);
+        assertThat(circuitBreaker("openai").getMetrics().getNumberOfFailedCalls()).isZero();
+    }
+
+    @Test
+    void openAiQueuesShortBurstWithinBulkheadWait() throws Exception {
+        server.reply(HttpResponseStatus.OK, "application/json", COMPLETION_BODY, Duration.ofMillis(100));
+        OpenAiChatClient client = openAiClient();
+
+        CompletableFuture<String> first = client.extractUserConditions("하루 통화 100분").toFuture();
+        awaitUntil(() -> server.hits() == 1);
+
+        assertThat(client.extractUserConditions("하루 통화 100분").block()).isEqualTo("{\"voice\":\"100\"}");
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("{\"voice\":\"100\"}");
+        assertThat(server.hits()).isEqualTo(2);
+        assertThat(rejected("openai", "bulkhead_full")).isZero();
+    }
+
+    @Test
+    void smartChoiceServesParsedPlansAndCachesThem() {
+        server.reply(HttpResponseStatus.OK, "application/xml", PLANS_BODY, Duration.ZERO);
+        SmartChoiceClient client = smartChoiceClient();
+
+        List<SmartChoicePlan> plans = client.getPlans("100", "10000", "100", "20", "6").block();
+        List<SmartChoicePlan> again = client.getPlans("100", "10000", "100", "20", "6").block();
+
+        assertThat(plans).extracting(SmartChoicePlan::getPlanName, SmartChoicePlan::getPrice)
+                .containsExactly(tuple("알뜰 5G", 33000));
+        assertThat(again).isEqualTo(plans);
+        assertThat(server.hits()).isEqualTo(1);
+    }
+
+    @Test
+    void smartChoiceFallsBackOnTimeoutAndServerErrorThenStopsCalling() {
+        SmartChoiceClient client = smartChoiceClient();
+
+        server.reply(HttpResponseStatus.OK, "application/xml", PLANS_BODY, Duration.ofSeconds(3));
+        assertThat(client.getPlans("100", "10000", "100", "20", "6").block()).isEmpty();
+        server.reply(HttpResponseStatus.SERVICE_UNAVAILABLE, "text/plain", "busy", Duration.ZERO);
+        assertThat(client.getPlans("100", "10000", "100", "20", "6").block()).isEmpty();
+        assertThat(circuitBreaker("smartchoice").getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        assertThat(client.getPlans("100", "10000", "100", "20", "6").block()).isEmpty();
+        assertThat(server.hits()).isEqualTo(2);
+        assertThat(rejected("smartchoice", "circuit_open")).isEqualTo(1);
+    }
+
+    @Test
+    void kakaoReadTimeoutOpensCircuitAndReportsUpstreamUnavailable() {
+        server.reply(HttpResponseStatus.OK, "application/json", "{\"access_token\":\"kakao-token\"}", Duration.ofSeconds(3));
+        KakaoOAuthClient client = kakaoClient();
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> client.getAccessToken("code"))
+                    .isInstanceOf(CoreException.class)
+                    .satisfies(error -> {
+                        CoreException coreException = (CoreException) error;
+                        assertThat(coreException.getErrorType()).isEqualTo(ErrorType.KAKAO_TOKEN_REQUEST_FAILED);
+                        assertThat(String.valueOf(coreException.getData())).contains("Read timed out");
+                    });
+        }
+        assertThat(circuitBreaker("kakao").getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        assertThatThrownBy(() -> client.getAccessToken("code"))
+                .extracting(error -> ((CoreException) error).getErrorType())
+                .isEqualTo(ErrorType.UPSTREAM_UNAVAILABLE);
+        assertThat(server.hits()).isEqualTo(2);
+        assertThat(rejected("kakao", "circuit_open")).isEqualTo(1);
+    }
+
+    @Test
+    void kakaoReturnsTokenFromStub() {
+        server.reply(HttpResponseStatus.OK, "application/json", "{\"access_token\":\"kakao-token\"}", Duration.ZERO);
+
+        assertThat(kakaoClient().getAccessToken("code")).isEqualTo("kakao-token");
+        assertThat(server.hits()).isEqualTo(1);
+    }
+
+    private OpenAiChatClient openAiClient() {
+        WebClientProperties properties = new WebClientProperties(upstream(server.url("/v1/chat/completions")), null);
+        return new OpenAiChatClient(new WebClientConfig().openaiWebClient(properties),
+                circuitBreakerRegistry, bulkheadRegistry, meterRegistry);
+    }
+
+    private SmartChoiceClient smartChoiceClient() {
+        WebClientProperties properties = new WebClientProperties(null, upstream(server.url("/api")));
+        SmartChoiceCatalog catalog = new SmartChoiceCatalog(
+                new SmartChoiceCatalogProperties(false, 0, 0, 0, 0, null), meterRegistry);
+        return new SmartChoiceClient(new WebClientConfig().smartChoiceWebClient(properties), new SmartChoiceXmlParser(),
+                catalog, new SmartChoiceCacheProperties(100, 60_000), circuitBreakerRegistry, bulkheadRegistry, meterRegistry);
+    }
+
+    private KakaoOAuthClient kakaoClient() {
+        KakaoApiProperties properties = new KakaoApiProperties(
+                server.url("/oauth/token"), server.url("/v2/user/me"), 1000, RESPONSE_TIMEOUT);
+        return new KakaoOAuthClient(new KakaoOAuthConfig().restTemplate(properties), properties,
+                circuitBreakerRegistry, bulkheadRegistry, meterRegistry);
+    }
+
+    // stub 서버는 평문 HTTP이므로 http2(TLS)는 끔
+    private static WebClientProperties.Upstream upstream(String baseUrl) {
+        return new WebClientProperties.Upstream(baseUrl, 10, 50, 1000, 30_000, 300_000, 30_000, 1000, RESPONSE_TIMEOUT, false);
+    }
+
+    private CircuitBreaker circuitBreaker(String upstream) {
+        return circuitBreakerRegistry.circuitBreaker(upstream);
+    }
+
+    private double rejected(String upstream, String reason) {
+        return meterRegistry.get("upstream.rejected")
+                .tag("upstream", upstream)
+                .tag("reason", reason)
+                .counter()
+                .count();
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("stub 서버가 요청을 받지 못했습니다.");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * 모든 경로에 같은 응답을 돌려주는 HTTP stub 서버입니다. 요청 본문을 다 읽은 뒤 delay만큼 기다렸다가 응답합니다.
+     */
+    private static final class StubServer {
+
+        private final AtomicInteger hits = new AtomicInteger();
+        private final AtomicReference<Reply> reply = new AtomicReference<>(
+                new Reply(HttpResponseStatus.OK, "text/plain", "", Duration.ZERO));
+        private final DisposableServer server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .handle((request, response) -> {
+                    hits.incrementAndGet();
+                    Reply current = reply.get();
+                    return request.receive().then()
+                            .then(Mono.delay(current.delay()))
+                            .then(Mono.defer(() -> response.status(current.status())
+                                    .header(HttpHeaderNames.CONTENT_TYPE, current.contentType())
+                                    .sendString(Mono.just(current.body()), StandardCharsets.UTF_8)
+                                    .then()));
+                })
+                .bindNow();
+
+        void reply(HttpResponseStatus status, String contentType, String body, Duration delay) {
+            reply.set(new Reply(status, contentType, body, delay));
+        }
+
+        int hits() {
+            return hits.get();
+        }
+
+        String url(String path) {
+            return "http://localhost:" + server.port() + path;
+        }
+
+        void dispose() {
+            server.disposeNow();
+        }
+    }
+
+    private record Reply(HttpResponseStatus status, String contentType, String body, Duration delay) {
+    }
+}
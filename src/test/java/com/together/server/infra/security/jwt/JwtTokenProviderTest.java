@@ -0,0 +1,61 @@
+package com.together.server.infra.security.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.together.server.infra.security.jwt.exception.InvalidTokenException;
+import com.together.server.infra.security.jwt.exception.TokenExpiredException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "test-secret-key-for-jwt-token-provider-0123456789";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void reusesCachedClaimsForSameToken() {
+        JwtTokenProvider provider = provider(SECRET, 60_000);
+        String token = provider.createToken("42");
+
+        assertThat(provider.getMemberId(token)).isEqualTo("42");
+        assertThat(provider.getMemberId(token)).isEqualTo("42");
+
+        assertThat(cacheGets("miss")).isEqualTo(1);
+        assertThat(cacheGets("hit")).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsTokenOnceCachedClaimsExpire() throws InterruptedException {
+        JwtTokenProvider provider = provider(SECRET, 1_000);
+        String token = provider.createToken("42");
+        assertThat(provider.getMemberId(token)).isEqualTo("42");
+
+        // exp는 초 단위로 잘리므로 1초 이상 여유를 두고 기다림
+        Thread.sleep(2_100);
+
+        assertThatThrownBy(() -> provider.getMemberId(token)).isInstanceOf(TokenExpiredException.class);
+        assertThat(provider.validateToken(token)).isFalse();
+    }
+
+    @Test
+    void rejectsTokenSignedWithAnotherKey() {
+        String foreignToken = provider("another-secret-key-for-jwt-token-provider-9876543", 60_000).createToken("42");
+
+        assertThatThrownBy(() -> provider(SECRET, 60_000).getMemberId(foreignToken))
+                .isInstanceOf(InvalidTokenException.class);
+    }
+
+    private JwtTokenProvider provider(String secret, long expirationTime) {
+        return new JwtTokenProvider(new JwtTokenProperties(secret, expirationTime, expirationTime, 100), meterRegistry);
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", "jwtClaims")
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+}